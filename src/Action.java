@@ -0,0 +1,45 @@
+// Ação de um jogador na sua vez: desistir, passar ou apostar um valor
+public final class Action {
+    public enum Type {
+        FOLD, CHECK, BET
+    }
+
+    private static final Action FOLD = new Action(Type.FOLD, 0);
+    private static final Action CHECK = new Action(Type.CHECK, 0);
+
+    private final Type type;
+    private final int amount;
+
+    private Action(Type type, int amount) {
+        this.type = type;
+        this.amount = amount;
+    }
+
+    public static Action fold() {
+        return FOLD;
+    }
+
+    public static Action check() {
+        return CHECK;
+    }
+
+    public static Action bet(int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("A aposta deve ser positiva");
+        }
+        return new Action(Type.BET, amount);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.BET ? "BET " + amount : type.name();
+    }
+}
@@ -0,0 +1,72 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Roda várias mesas independentes em paralelo, uma por núcleo, com estratégias aleatórias
+public class BatchSimulator {
+    private final int tables;
+    private final int playersPerTable;
+    private final int initialChips;
+    private final long seed;
+
+    public BatchSimulator(int tables, int playersPerTable, int initialChips, long seed) {
+        this.tables = tables;
+        this.playersPerTable = playersPerTable;
+        this.initialChips = initialChips;
+        this.seed = seed;
+    }
+
+    // Cria uma mesa com jogadores "Jogador 1..n"; estratégias e baralhos derivados da semente e da mesa
+    HeadlessTable createTable(int tableIndex) {
+        List<String> names = new ArrayList<>();
+        List<Strategy> strategies = new ArrayList<>();
+        for (int i = 0; i < playersPerTable; i++) {
+            names.add("Jogador " + (i + 1));
+            strategies.add(new RandomStrategy(seed + tableIndex * 1_000L + i));
+        }
+        PokerGame game = new PokerGame(names, initialChips);
+        game.setShuffleRandom(ShuffleRandom.seeded(seed).derive(tableIndex));
+        return new HeadlessTable(game, strategies);
+    }
+
+    // Joga handsPerTable mãos em cada mesa e retorna o total de mãos jogadas
+    public long run(long handsPerTable) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int t = 0; t < tables; t++) {
+                HeadlessTable table = createTable(t);
+                results.add(executor.submit(() -> {
+                    table.playHands(handsPerTable);
+                    return table.getHandsPlayed();
+                }));
+            }
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            return total;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Uso: java -cp bin BatchSimulator [mesas] [mãos por mesa] [jogadores por mesa]
+    public static void main(String[] args) throws Exception {
+        int[] values = {Runtime.getRuntime().availableProcessors(), 100_000, 6};
+        for (int i = 0; i < Math.min(args.length, values.length); i++) {
+            values[i] = Integer.parseInt(args[i]);
+        }
+        BatchSimulator simulator = new BatchSimulator(values[0], values[2], 1000, 42L);
+
+        long start = System.nanoTime();
+        long hands = simulator.run(values[1]);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Parâmetros: %s%n", Arrays.toString(values));
+        System.out.printf("%d mãos em %.2f s (%.0f mãos/min)%n", hands, seconds, hands / seconds * 60);
+        System.out.print(Metrics.dump());
+    }
+}
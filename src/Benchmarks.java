@@ -0,0 +1,262 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+// Microbenchmarks do avaliador, do baralho e de mãos completas sem GUI. Cada benchmark roda
+// iterações de aquecimento e de medição e informa ns/op, bytes alocados por op, taxa de alocação
+// e coletas de lixo no período, para comparar antes/depois de cada mudança.
+// Uso: java -cp bin Benchmarks [filtro]
+public class Benchmarks {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    private static final long ITERATION_NANOS = 1_000_000_000L;
+    // Quantidade de distribuições pré-geradas percorridas em ciclo pelos benchmarks do avaliador
+    private static final int DEALS = 1024;
+
+    // Impede que o JIT descarte o resultado das operações medidas
+    private static volatile long sink;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : "";
+        List<String> names = new ArrayList<>();
+        List<LongSupplier> benchmarks = new ArrayList<>();
+
+        for (int players = 2; players <= 10; players += 2) {
+            names.add("evaluateWinner." + players + "p");
+            benchmarks.add(evaluateWinner(players));
+        }
+        names.add("evaluate.7cards");
+        benchmarks.add(evaluateSevenCards(null));
+        names.add("evaluate.7cards.cached");
+        benchmarks.add(evaluateSevenCards(new EvaluationCache(1 << 16)));
+        names.add("evaluate.7cards.shortdeck");
+        benchmarks.add(evaluateShortDeck());
+        for (GameVariant variant : new GameVariant[] {GameVariant.OMAHA4, GameVariant.OMAHA5}) {
+            String name = variant == GameVariant.OMAHA4 ? "plo4" : "plo5";
+            names.add("showdown." + name + ".6p");
+            benchmarks.add(omahaShowdown(variant, 6, false));
+            names.add("showdown." + name + ".6p.direct");
+            benchmarks.add(omahaShowdown(variant, 6, true));
+        }
+        names.add("deck.newShuffleDraw");
+        benchmarks.add(Benchmarks::deckShuffleDraw);
+        names.add("deck.seededHandDraw");
+        benchmarks.add(seededDeckDraw());
+        names.add("intDeck.shuffleDraw");
+        benchmarks.add(intDeckShuffleDraw());
+        names.add("headless.hand.6p");
+        benchmarks.add(headlessHand(6, GameVariant.HOLDEM));
+        names.add("headless.hand.6p.plo4");
+        benchmarks.add(headlessHand(6, GameVariant.OMAHA4));
+        names.add("headless.hand.6p.plo5");
+        benchmarks.add(headlessHand(6, GameVariant.OMAHA5));
+        names.add("headless.hand.6p.shortdeck");
+        benchmarks.add(headlessHand(6, GameVariant.SHORT_DECK));
+
+        System.out.printf("%-28s %12s %12s %12s %8s%n", "benchmark", "ns/op", "B/op", "MB/s alloc", "gc");
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).contains(filter)) {
+                run(names.get(i), benchmarks.get(i));
+            }
+        }
+    }
+
+    private static void run(String name, LongSupplier benchmark) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iterate(benchmark);
+        }
+        long threadId = Thread.currentThread().getId();
+        long gcBefore = gcCount();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long ops = 0;
+        long nanos = 0;
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            ops += iterate(benchmark);
+            nanos += System.nanoTime() - start;
+        }
+        long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+        System.out.printf("%-28s %12.1f %12.1f %12.1f %8d%n", name, (double) nanos / ops, (double) bytes / ops,
+                bytes / 1e6 / (nanos / 1e9), gcCount() - gcBefore);
+    }
+
+    // Executa a operação em lotes até completar o tempo de uma iteração; retorna o número de ops
+    private static long iterate(LongSupplier benchmark) {
+        long deadline = System.nanoTime() + ITERATION_NANOS;
+        long ops = 0;
+        long result = 0;
+        do {
+            for (int i = 0; i < 256; i++) {
+                result += benchmark.getAsLong();
+            }
+            ops += 256;
+        } while (System.nanoTime() < deadline);
+        sink = result;
+        return ops;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    // Showdown de n jogadores sobre distribuições aleatórias pré-geradas
+    private static LongSupplier evaluateWinner(int playerCount) {
+        SplittableRandom random = new SplittableRandom(42);
+        IntDeck deck = new IntDeck();
+        List<List<Player>> tables = new ArrayList<>();
+        List<List<Card>> boards = new ArrayList<>();
+        for (int d = 0; d < DEALS; d++) {
+            deck.rewind();
+            List<Player> players = new ArrayList<>();
+            for (int p = 0; p < playerCount; p++) {
+                Player player = new Player("P" + p, 1000);
+                player.receiveCard(Card.of(deck.drawRandomCard(random)));
+                player.receiveCard(Card.of(deck.drawRandomCard(random)));
+                players.add(player);
+            }
+            List<Card> board = new ArrayList<>();
+            for (int c = 0; c < 5; c++) {
+                board.add(Card.of(deck.drawRandomCard(random)));
+            }
+            tables.add(players);
+            boards.add(board);
+        }
+        HandEvaluator evaluator = new HandEvaluator();
+        int[] next = new int[1];
+        return () -> {
+            int d = next[0]++ & (DEALS - 1);
+            return evaluator.evaluateWinner(tables.get(d), boards.get(d)).getChips();
+        };
+    }
+
+    // Avaliação isolada de mãos de 7 cartas, direto ou por um EvaluationCache
+    private static LongSupplier evaluateSevenCards(EvaluationCache cache) {
+        SplittableRandom random = new SplittableRandom(42);
+        IntDeck deck = new IntDeck();
+        long[] masks = new long[DEALS];
+        for (int d = 0; d < DEALS; d++) {
+            deck.rewind();
+            for (int c = 0; c < 7; c++) {
+                masks[d] |= Card.mask(deck.drawRandomCard(random));
+            }
+        }
+        int[] next = new int[1];
+        if (cache == null) {
+            return () -> HandEvaluator.evaluateUncached(masks[next[0]++ & (DEALS - 1)]);
+        }
+        return () -> cache.get(masks[next[0]++ & (DEALS - 1)]);
+    }
+
+    // Mãos de 7 cartas do baralho de 36 cartas pela ordem do short deck
+    private static LongSupplier evaluateShortDeck() {
+        SplittableRandom random = new SplittableRandom(42);
+        IntDeck deck = new IntDeck();
+        deck.reset(~GameVariant.SHORT_DECK.getDeckMask());
+        long[] masks = new long[DEALS];
+        for (int d = 0; d < DEALS; d++) {
+            deck.rewind();
+            for (int c = 0; c < 7; c++) {
+                masks[d] |= Card.mask(deck.drawRandomCard(random));
+            }
+        }
+        int[] next = new int[1];
+        return () -> HandEvaluator.evaluateShortDeck(masks[next[0]++ & (DEALS - 1)]);
+    }
+
+    // Showdown de Omaha (2 próprias + 3 da mesa) de n jogadores: avaliador preparado uma vez por
+    // mesa, ou, com direct, as combinações de cada jogador avaliadas uma a uma
+    private static LongSupplier omahaShowdown(GameVariant variant, int playerCount, boolean direct) {
+        SplittableRandom random = new SplittableRandom(42);
+        IntDeck deck = new IntDeck();
+        long[] boards = new long[DEALS];
+        long[][] holes = new long[DEALS][playerCount];
+        for (int d = 0; d < DEALS; d++) {
+            deck.rewind();
+            for (int p = 0; p < playerCount; p++) {
+                for (int c = 0; c < variant.getHoleCards(); c++) {
+                    holes[d][p] |= Card.mask(deck.drawRandomCard(random));
+                }
+            }
+            for (int c = 0; c < 5; c++) {
+                boards[d] |= Card.mask(deck.drawRandomCard(random));
+            }
+        }
+        GameVariant.Evaluator evaluator = variant.newEvaluator();
+        int[] next = new int[1];
+        return () -> {
+            int d = next[0]++ & (DEALS - 1);
+            int best = 0;
+            if (direct) {
+                for (long hole : holes[d]) {
+                    best = Math.max(best, OmahaEvaluator.evaluateDirect(hole, boards[d]));
+                }
+                return best;
+            }
+            evaluator.setBoard(boards[d]);
+            for (long hole : holes[d]) {
+                best = Math.max(best, evaluator.evaluate(hole));
+            }
+            return best;
+        };
+    }
+
+    // Construção do Deck, embaralhamento e as cartas de uma mão de 6 jogadores
+    private static long deckShuffleDraw() {
+        Deck deck = new Deck();
+        long mask = 0;
+        for (int i = 0; i < 17; i++) {
+            mask |= deck.drawCard().getMask();
+        }
+        return mask;
+    }
+
+    // Baralho reproduzível de uma mão: gerador derivado de (semente, número da mão) a cada operação
+    private static LongSupplier seededDeckDraw() {
+        ShuffleRandom shuffleRandom = ShuffleRandom.seeded(42);
+        long[] hand = {0};
+        return () -> {
+            Deck deck = new Deck(shuffleRandom.forHand(hand[0]++));
+            long mask = 0;
+            for (int i = 0; i < 17; i++) {
+                mask |= deck.drawCard().getMask();
+            }
+            return mask;
+        };
+    }
+
+    private static LongSupplier intDeckShuffleDraw() {
+        IntDeck deck = new IntDeck();
+        SplittableRandom random = new SplittableRandom(42);
+        return () -> {
+            deck.rewind();
+            deck.shuffleDeck(random);
+            long mask = 0;
+            for (int i = 0; i < 17; i++) {
+                mask |= Card.mask(deck.drawCard());
+            }
+            return mask;
+        };
+    }
+
+    // Mão completa numa HeadlessTable com estratégias aleatórias, na variante informada
+    private static LongSupplier headlessHand(int players, GameVariant variant) {
+        HeadlessTable table = new BatchSimulator(1, players, 1_000_000, 42L).createTable(0);
+        table.getGame().setVariant(variant);
+        table.setRebuy(true);
+        // Sem blinds, uma mão em que todos passam termina sem vencedor (pote vazio)
+        return () -> {
+            Player winner = table.playHand();
+            return winner == null ? 0 : winner.getChips();
+        };
+    }
+}
@@ -0,0 +1,81 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Estrutura de blinds de um torneio: níveis de small blind, big blind e ante, cada um durando um
+// número fixo de mãos do relógio do torneio (uma mão jogada em todas as mesas)
+public class BlindSchedule {
+    private final int[] smallBlinds;
+    private final int[] bigBlinds;
+    private final int[] antes;
+    private final int handsPerLevel;
+
+    public BlindSchedule(int[] smallBlinds, int[] bigBlinds, int[] antes, int handsPerLevel) {
+        if (smallBlinds.length == 0 || smallBlinds.length != bigBlinds.length || antes.length != bigBlinds.length) {
+            throw new IllegalArgumentException("Os níveis precisam de small blind, big blind e ante");
+        }
+        if (handsPerLevel <= 0) {
+            throw new IllegalArgumentException("Cada nível precisa de pelo menos uma mão");
+        }
+        this.smallBlinds = smallBlinds.clone();
+        this.bigBlinds = bigBlinds.clone();
+        this.antes = antes.clone();
+        this.handsPerLevel = handsPerLevel;
+    }
+
+    // Estrutura padrão: big blind inicial de 1% do stack, subindo cerca de 30% por nível com
+    // valores arredondados a dois algarismos; ante de 1/8 do big blind a partir do 4º nível
+    public static BlindSchedule standard(int startingStack, int handsPerLevel) {
+        List<int[]> levels = new ArrayList<>();
+        long bigBlind = Math.max(2, startingStack / 100);
+        while (bigBlind <= Integer.MAX_VALUE / 4 && levels.size() < 60) {
+            int big = (int) bigBlind;
+            int ante = levels.size() >= 3 ? Math.max(1, big / 8) : 0;
+            levels.add(new int[] {big / 2, big, ante});
+            bigBlind = roundTwoDigits((long) Math.ceil(bigBlind * 1.3));
+        }
+        int[] small = new int[levels.size()];
+        int[] big = new int[levels.size()];
+        int[] ante = new int[levels.size()];
+        for (int i = 0; i < levels.size(); i++) {
+            small[i] = levels.get(i)[0];
+            big[i] = levels.get(i)[1];
+            ante[i] = levels.get(i)[2];
+        }
+        return new BlindSchedule(small, big, ante, handsPerLevel);
+    }
+
+    // Arredonda para cima mantendo dois algarismos significativos (e sempre par, para o small blind)
+    private static long roundTwoDigits(long value) {
+        long unit = 1;
+        while (value / unit >= 100) {
+            unit *= 10;
+        }
+        long rounded = (value + unit - 1) / unit * unit;
+        return rounded % 2 == 0 ? rounded : rounded + 1;
+    }
+
+    // Nível em vigor depois de hands mãos do relógio; o último nível vale até o fim
+    public int levelFor(long hands) {
+        return (int) Math.min(hands / handsPerLevel, bigBlinds.length - 1);
+    }
+
+    public int getSmallBlind(int level) {
+        return smallBlinds[level];
+    }
+
+    public int getBigBlind(int level) {
+        return bigBlinds[level];
+    }
+
+    public int getAnte(int level) {
+        return antes[level];
+    }
+
+    public int getLevelCount() {
+        return bigBlinds.length;
+    }
+
+    public int getHandsPerLevel() {
+        return handsPerLevel;
+    }
+}
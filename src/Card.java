@@ -1,11 +1,63 @@
+import java.util.List;
 
 public class Card implements Comparable<Card> {
-    private String suit; // Naipe da carta: Paus, Ouros, Copas, Espadas
-    private String rank; // Valor da carta: 2 a 10, Valete, Rainha, Rei, Ás
+    // Naipes e valores na ordem usada pela codificação inteira (índice = naipe * 13 + valor - 2)
+    static final String[] SUITS = {"Paus", "Ouros", "Copas", "Espadas"};
+    static final String[] RANKS = {"2", "3", "4", "5", "6", "7", "8", "9", "10", "Valete", "Rainha", "Rei", "Ás"};
+    static final int DECK_SIZE = 52;
+
+    // Cada naipe ocupa uma faixa de 16 bits nas máscaras de mão e de mesa
+    static final int MASK_SUIT_SHIFT = 16;
+
+    // Instâncias únicas (flyweights) das 52 cartas, indexadas pela codificação inteira
+    private static final Card[] CARDS = new Card[DECK_SIZE];
+    private static final long[] MASKS = new long[DECK_SIZE];
+
+    static {
+        for (int index = 0; index < DECK_SIZE; index++) {
+            CARDS[index] = new Card(RANKS[index % 13], SUITS[index / 13]);
+            MASKS[index] = 1L << ((index / 13) * MASK_SUIT_SHIFT + index % 13);
+        }
+    }
+
+    private final String suit; // Naipe da carta: Paus, Ouros, Copas, Espadas
+    private final String rank; // Valor da carta: 2 a 10, Valete, Rainha, Rei, Ás
+    private final int value;
+    private final int index;
 
     public Card(String rank, String suit) {
         this.rank = rank;
         this.suit = suit;
+        this.value = parseValue(rank);
+        this.index = suitIndex(suit) * 13 + value - 2;
+    }
+
+    // Retorna a instância compartilhada da carta com a codificação inteira informada (0 a 51)
+    public static Card of(int index) {
+        return CARDS[index];
+    }
+
+    public static Card of(String rank, String suit) {
+        return CARDS[suitIndex(suit) * 13 + parseValue(rank) - 2];
+    }
+
+    // Máscara de 64 bits com apenas a carta informada
+    static long mask(int index) {
+        return MASKS[index];
+    }
+
+    // Converte uma lista de cartas na máscara de 64 bits correspondente
+    static long toMask(List<Card> cards) {
+        long mask = 0L;
+        for (int i = 0; i < cards.size(); i++) {
+            mask |= MASKS[cards.get(i).index];
+        }
+        return mask;
+    }
+
+    // Converte um bit da máscara de volta para a codificação inteira da carta
+    static int indexOfBit(int bit) {
+        return (bit / MASK_SUIT_SHIFT) * 13 + bit % MASK_SUIT_SHIFT;
     }
 
     public String getSuit() {
@@ -16,6 +68,15 @@ public class Card implements Comparable<Card> {
         return rank;
     }
 
+    // Codificação inteira da carta, de 0 a 51
+    public int getIndex() {
+        return index;
+    }
+
+    public long getMask() {
+        return MASKS[index];
+    }
+
     // Método para converter a carta em uma string legível
     @Override
     public String toString() {
@@ -30,6 +91,10 @@ public class Card implements Comparable<Card> {
 
     // Método auxiliar para obter o valor numérico de uma carta para comparação e ordenação
     int getCardValue() {
+        return value;
+    }
+
+    private static int parseValue(String rank) {
         switch (rank) {
             case "Ás":
                 return 14; // O Ás pode ser o mais alto
@@ -43,4 +108,13 @@ public class Card implements Comparable<Card> {
                 return Integer.parseInt(rank); // Para cartas numéricas de 2 a 10
         }
     }
+
+    private static int suitIndex(String suit) {
+        for (int i = 0; i < SUITS.length; i++) {
+            if (SUITS[i].equals(suit)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Naipe inválido: " + suit);
+    }
 }
@@ -0,0 +1,694 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Resolve subjogos heads-up de turn ou river com CFR+ (regret matching+, atualizações alternadas e
+// média ponderada pela iteração). A árvore pública é percorrida em forma vetorial: cada nó recebe
+// os vetores de alcance das mãos dos dois jogadores, e os valores contrafactuais voltam como vetor
+// por mão. Regrets e somas de estratégia ficam fora do heap, em buffers diretos indexados por
+// (nó, mão, ação): regrets em float (o CFR+ os mantém pequenos) e somas em double, que crescem
+// com o peso da iteração e perderiam precisão em float depois de alguns milhares de iterações. Os filhos de cada nó (cartas do river e ações) ocupam slots disjuntos e rodam em
+// paralelo. O showdown é uma varredura das mãos ordenadas por força, com somas de alcance por
+// carta para descontar as mãos bloqueadas, como no fold.
+public class CfrSolver {
+    // Fases como em PokerGame.getCurrentPhase(): 3 depois do turn, 4 depois do river
+    static final int TURN = 3;
+    static final int RIVER = 4;
+
+    private static final int DECISION = 0;
+    private static final int CHANCE = 1;
+    private static final int FOLD = 2;
+    private static final int SHOWDOWN = 3;
+
+    private static final int MAGIC = 0x43465252; // "CFRR"
+    private static final int VERSION = 2; // 2: somas de estratégia em double
+
+    // Nó da árvore pública de apostas
+    static final class Node {
+        final int type;
+        final int player;          // quem age (DECISION) ou quem venceu (FOLD)
+        final int[] contributions; // total colocado por cada jogador ao chegar ao nó
+        final long board;
+        Node[] children;
+        String[] actions;
+        int offset;                // primeiro slot nos buffers (DECISION)
+        Showdown showdown;         // forças e ordem das mãos nesta mesa (SHOWDOWN)
+        int id;
+
+        Node(int type, int player, int[] contributions, long board) {
+            this.type = type;
+            this.player = player;
+            this.contributions = contributions;
+            this.board = board;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String[] getActions() {
+            return actions;
+        }
+
+        public Node[] getChildren() {
+            return children;
+        }
+
+        public int getPlayer() {
+            return player;
+        }
+    }
+
+    private final long board;
+    private final int street;
+    private final long[][] hands;      // mãos de cada jogador (máscaras de 2 cartas)
+    private final double[][] weights;  // peso inicial de cada mão no range
+    private final int[][] comboIndex;  // combo (c1 * 52 + c2) -> índice no range, -1 se ausente
+    private final int stack;
+    private final double[] betFractions;
+    private final int maxRaises;
+    private final ForkJoinPool pool;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Long, Showdown> boardStrengths = new HashMap<>();
+    private final Node root;
+    private int slots;
+    private final ByteBuffer regretBytes;
+    private final ByteBuffer strategyBytes;
+    private final FloatBuffer regrets;
+    private final DoubleBuffer strategySums;
+    private int iterations;
+
+    // board: 4 (turn) ou 5 (river) cartas; ranges: mãos e pesos de cada jogador, o jogador 0 age
+    // primeiro; pot: pote no início do subjogo, dividido igualmente; stack: fichas restantes de
+    // cada jogador; betFractions: apostas e aumentos como fração do pote; maxRaises: por fase
+    public CfrSolver(long board, long[][] hands, double[][] weights, int pot, int stack,
+            double[] betFractions, int maxRaises, ForkJoinPool pool) {
+        int cards = Long.bitCount(board);
+        if (cards != 4 && cards != 5) {
+            throw new IllegalArgumentException("O subjogo começa no turn (4 cartas) ou no river (5 cartas)");
+        }
+        this.board = board;
+        this.street = cards == 4 ? TURN : RIVER;
+        this.hands = new long[2][];
+        this.weights = new double[2][];
+        this.comboIndex = new int[2][];
+        for (int p = 0; p < 2; p++) {
+            // Mãos que usam cartas da mesa ficam de fora
+            int kept = 0;
+            long[] playerHands = new long[hands[p].length];
+            double[] playerWeights = new double[hands[p].length];
+            for (int h = 0; h < hands[p].length; h++) {
+                if ((hands[p][h] & board) == 0 && weights[p][h] > 0) {
+                    playerHands[kept] = hands[p][h];
+                    playerWeights[kept++] = weights[p][h];
+                }
+            }
+            this.hands[p] = Arrays.copyOf(playerHands, kept);
+            this.weights[p] = Arrays.copyOf(playerWeights, kept);
+            this.comboIndex[p] = new int[52 * 52];
+            Arrays.fill(comboIndex[p], -1);
+            for (int h = 0; h < kept; h++) {
+                comboIndex[p][comboKey(this.hands[p][h])] = h;
+            }
+        }
+        this.stack = stack;
+        this.betFractions = betFractions.clone();
+        this.maxRaises = maxRaises;
+        this.pool = pool;
+
+        int half = pot / 2;
+        root = buildStreet(street, new int[] {half, pot - half}, board);
+        regretBytes = ByteBuffer.allocateDirect(slots * Float.BYTES).order(ByteOrder.BIG_ENDIAN);
+        strategyBytes = ByteBuffer.allocateDirect(slots * Double.BYTES).order(ByteOrder.BIG_ENDIAN);
+        regrets = regretBytes.asFloatBuffer();
+        strategySums = strategyBytes.asDoubleBuffer();
+    }
+
+    // ---- Construção da árvore ----
+
+    private Node buildStreet(int currentStreet, int[] contributions, long currentBoard) {
+        // Com alguém all-in não há mais decisões: só as cartas que faltam e o showdown
+        if (isAllIn(contributions)) {
+            return currentStreet == RIVER ? add(new Node(SHOWDOWN, -1, contributions, currentBoard))
+                    : buildChance(contributions, currentBoard);
+        }
+        return buildDecision(currentStreet, 0, contributions, currentBoard, maxRaises, false);
+    }
+
+    private Node buildDecision(int currentStreet, int player, int[] contributions, long currentBoard,
+            int raisesLeft, boolean checkedBefore) {
+        Node node = add(new Node(DECISION, player, contributions, currentBoard));
+        int opponent = 1 - player;
+        int facing = contributions[opponent] - contributions[player];
+        int pot = contributions[0] + contributions[1];
+        int maxContribution = maxContribution(contributions);
+        List<String> labels = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+
+        if (facing == 0) {
+            labels.add("CHECK");
+            children.add(checkedBefore ? closeStreet(currentStreet, contributions, currentBoard)
+                    : buildDecision(currentStreet, opponent, contributions, currentBoard, raisesLeft, true));
+        } else {
+            labels.add("FOLD");
+            children.add(add(new Node(FOLD, opponent, contributions, currentBoard)));
+            int[] called = contributions.clone();
+            called[player] = Math.min(contributions[opponent], maxContribution);
+            labels.add("CALL");
+            children.add(closeStreet(currentStreet, called, currentBoard));
+        }
+
+        if (facing == 0 || raisesLeft > 0) {
+            int callTo = contributions[opponent];
+            int potAfterCall = pot + facing;
+            int lastTarget = -1;
+            for (double fraction : betFractions) {
+                int target = Math.min(callTo + (int) Math.round(potAfterCall * fraction), maxContribution);
+                if (target <= callTo || target == lastTarget) {
+                    continue;
+                }
+                lastTarget = target;
+                int[] raised = contributions.clone();
+                raised[player] = target;
+                labels.add((facing == 0 ? "BET " : "RAISE ") + (target - contributions[player]));
+                children.add(buildDecision(currentStreet, opponent, raised, currentBoard,
+                        facing == 0 ? raisesLeft : raisesLeft - 1, true));
+            }
+        }
+
+        node.actions = labels.toArray(new String[0]);
+        node.children = children.toArray(new Node[0]);
+        node.offset = slots;
+        slots += hands[player].length * node.actions.length;
+        return node;
+    }
+
+    private Node closeStreet(int currentStreet, int[] contributions, long currentBoard) {
+        if (currentStreet == RIVER) {
+            return add(new Node(SHOWDOWN, -1, contributions, currentBoard));
+        }
+        return buildChance(contributions, currentBoard);
+    }
+
+    // Uma subárvore de river por carta possível; filhos null para cartas já na mesa
+    private Node buildChance(int[] contributions, long currentBoard) {
+        Node node = add(new Node(CHANCE, -1, contributions, currentBoard));
+        node.children = new Node[Card.DECK_SIZE];
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            long bit = Card.mask(card);
+            if ((currentBoard & bit) == 0) {
+                node.children[card] = buildStreet(RIVER, contributions, currentBoard | bit);
+            }
+        }
+        return node;
+    }
+
+    private Node add(Node node) {
+        node.id = nodes.size();
+        nodes.add(node);
+        if (node.type == SHOWDOWN) {
+            // Forças e ordenação calculadas uma vez por mesa e compartilhadas entre os showdowns dela
+            node.showdown = boardStrengths.computeIfAbsent(node.board, this::showdown);
+        }
+        return node;
+    }
+
+    private int maxContribution(int[] contributions) {
+        return (contributions[0] + contributions[1]) / 2 + stack;
+    }
+
+    private boolean isAllIn(int[] contributions) {
+        int max = maxContribution(contributions);
+        return contributions[0] == contributions[1] && contributions[0] >= max;
+    }
+
+    // ---- CFR+ ----
+
+    // Roda mais iterações sobre a árvore; pode ser chamado várias vezes
+    public void solve(int moreIterations) {
+        for (int i = 0; i < moreIterations; i++) {
+            iterations++;
+            for (int player = 0; player < 2; player++) {
+                pool.invoke(new SubtreeTask(this, root, player, weights[player], weights[1 - player], 0));
+            }
+        }
+    }
+
+    // Valores contrafactuais das mãos de u no nó, dados os alcances das mãos de u e do oponente
+    private double[] cfr(Node node, int u, double[] reachU, double[] reachOpp) {
+        switch (node.type) {
+            case FOLD:
+                return foldValues(node, u, reachOpp);
+            case SHOWDOWN:
+                return showdownValues(node, u, reachOpp);
+            case CHANCE:
+                return chanceValues(node, u, reachU, reachOpp);
+            default:
+                return decisionValues(node, u, reachU, reachOpp);
+        }
+    }
+
+    private double[] decisionValues(Node node, int u, double[] reachU, double[] reachOpp) {
+        int actions = node.actions.length;
+        int p = node.player;
+        int n = hands[p].length;
+        double[] strategy = currentStrategy(node, n, actions);
+
+        if (p == u) {
+            double[][] childReach = new double[actions][n];
+            for (int a = 0; a < actions; a++) {
+                for (int h = 0; h < n; h++) {
+                    childReach[a][h] = reachU[h] * strategy[h * actions + a];
+                }
+            }
+            double[][] childValues = children(node, u, childReach, reachU, null, reachOpp);
+            double[] values = new double[n];
+            for (int a = 0; a < actions; a++) {
+                for (int h = 0; h < n; h++) {
+                    values[h] += strategy[h * actions + a] * childValues[a][h];
+                }
+            }
+            // Regret matching+: regrets negativos são zerados; média ponderada pela iteração
+            for (int h = 0; h < n; h++) {
+                for (int a = 0; a < actions; a++) {
+                    int slot = node.offset + h * actions + a;
+                    float regret = (float) (regrets.get(slot) + childValues[a][h] - values[h]);
+                    regrets.put(slot, Math.max(0f, regret));
+                    strategySums.put(slot, strategySums.get(slot) + iterations * reachU[h] * strategy[h * actions + a]);
+                }
+            }
+            return values;
+        }
+
+        double[][] childReach = new double[actions][n];
+        for (int a = 0; a < actions; a++) {
+            for (int h = 0; h < n; h++) {
+                childReach[a][h] = reachOpp[h] * strategy[h * actions + a];
+            }
+        }
+        double[][] childValues = children(node, u, null, reachU, childReach, reachOpp);
+        double[] values = new double[hands[u].length];
+        for (int a = 0; a < actions; a++) {
+            for (int h = 0; h < values.length; h++) {
+                values[h] += childValues[a][h];
+            }
+        }
+        return values;
+    }
+
+    // Valores dos filhos de um nó de decisão, um por ação, em paralelo: as subárvores não dividem
+    // slots. Com reachsU nulo o alcance de u é o mesmo em todos os filhos (quem age é o oponente)
+    private double[][] children(Node node, int u, double[][] reachsU, double[] reachU, double[][] reachsOpp,
+            double[] reachOpp) {
+        int actions = node.children.length;
+        List<RecursiveTask<double[]>> tasks = new ArrayList<>(actions);
+        for (int a = 0; a < actions; a++) {
+            Node child = node.children[a];
+            double[] childReachU = reachsU == null ? reachU : reachsU[a];
+            double[] childReachOpp = reachsOpp == null ? reachOpp : reachsOpp[a];
+            tasks.add(new SubtreeTask(this, child, u, childReachU, childReachOpp, 0));
+        }
+        RecursiveTask.invokeAll(tasks);
+        double[][] values = new double[actions][];
+        for (int a = 0; a < actions; a++) {
+            values[a] = tasks.get(a).join();
+        }
+        return values;
+    }
+
+    // Cada carta do river é um filho independente; as subárvores ocupam slots disjuntos
+    private double[] chanceValues(Node node, int u, double[] reachU, double[] reachOpp) {
+        List<RecursiveTask<double[]>> tasks = new ArrayList<>();
+        int outcomes = 0;
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            Node child = node.children[card];
+            if (child == null) {
+                continue;
+            }
+            outcomes++;
+            long bit = Card.mask(card);
+            double[] childReachU = blocked(u, reachU, bit);
+            double[] childReachOpp = blocked(1 - u, reachOpp, bit);
+            tasks.add(new SubtreeTask(this, child, u, childReachU, childReachOpp, bit));
+        }
+        RecursiveTask.invokeAll(tasks);
+
+        // Com as 4 cartas das duas mãos fora, cada carta do river tem chance 1 / (outcomes - 4)
+        double probability = 1.0 / (outcomes - 4);
+        double[] values = new double[hands[u].length];
+        for (RecursiveTask<double[]> task : tasks) {
+            double[] childValues = task.join();
+            for (int h = 0; h < values.length; h++) {
+                values[h] += childValues[h] * probability;
+            }
+        }
+        return values;
+    }
+
+    // Valores de uma subárvore na pool; com blockedCard (carta do river) as mãos de u que a usam
+    // valem zero
+    private static final class SubtreeTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final CfrSolver solver;
+        private final Node node;
+        private final int u;
+        private final double[] reachU;
+        private final double[] reachOpp;
+        private final long blockedCard;
+
+        SubtreeTask(CfrSolver solver, Node node, int u, double[] reachU, double[] reachOpp, long blockedCard) {
+            this.solver = solver;
+            this.node = node;
+            this.u = u;
+            this.reachU = reachU;
+            this.reachOpp = reachOpp;
+            this.blockedCard = blockedCard;
+        }
+
+        @Override
+        protected double[] compute() {
+            double[] values = solver.cfr(node, u, reachU, reachOpp);
+            if (blockedCard != 0) {
+                long[] hands = solver.hands[u];
+                for (int h = 0; h < values.length; h++) {
+                    if ((hands[h] & blockedCard) != 0) {
+                        values[h] = 0;
+                    }
+                }
+            }
+            return values;
+        }
+    }
+
+    private double[] blocked(int player, double[] reach, long bit) {
+        double[] result = reach.clone();
+        for (int h = 0; h < result.length; h++) {
+            if ((hands[player][h] & bit) != 0) {
+                result[h] = 0;
+            }
+        }
+        return result;
+    }
+
+    // Quem desistiu perde o que colocou; o alcance compatível do oponente é obtido somando
+    // por carta (total - mãos com a 1ª carta - mãos com a 2ª + a mão idêntica, contada duas vezes)
+    private double[] foldValues(Node node, int u, double[] reachOpp) {
+        int opp = 1 - u;
+        double payoff = node.player == u ? node.contributions[opp] : -node.contributions[u];
+        double total = 0;
+        double[] perCard = new double[Card.DECK_SIZE];
+        for (int o = 0; o < reachOpp.length; o++) {
+            total += reachOpp[o];
+            long mask = hands[opp][o];
+            perCard[indexOf(Long.numberOfTrailingZeros(mask))] += reachOpp[o];
+            perCard[indexOf(63 - Long.numberOfLeadingZeros(mask))] += reachOpp[o];
+        }
+        double[] values = new double[hands[u].length];
+        for (int h = 0; h < values.length; h++) {
+            long mask = hands[u][h];
+            int same = comboIndex[opp][comboKey(mask)];
+            double compatible = total - perCard[indexOf(Long.numberOfTrailingZeros(mask))]
+                    - perCard[indexOf(63 - Long.numberOfLeadingZeros(mask))] + (same >= 0 ? reachOpp[same] : 0);
+            values[h] = payoff * compatible;
+        }
+        return values;
+    }
+
+    // Showdown: ganha o que o oponente colocou contra mãos piores, perde o que colocou contra
+    // melhores e divide empates. As mãos de u são percorridas da mais fraca para a mais forte
+    // enquanto dois cursores acumulam o alcance do oponente abaixo e até a força atual, no total e
+    // por carta; o alcance compatível de cada faixa sai das somas por carta, como em foldValues
+    private double[] showdownValues(Node node, int u, double[] reachOpp) {
+        int opp = 1 - u;
+        double win = node.contributions[opp];
+        double lose = node.contributions[u];
+        Showdown showdown = node.showdown;
+        int[] strengthU = showdown.strengths[u];
+        int[] strengthOpp = showdown.strengths[opp];
+        int[] orderU = showdown.order[u];
+        int[] orderOpp = showdown.order[opp];
+
+        double total = 0;
+        double[] totalByCard = new double[Card.DECK_SIZE];
+        for (int o = 0; o < reachOpp.length; o++) {
+            if (reachOpp[o] != 0) {
+                total += reachOpp[o];
+                totalByCard[showdown.first[opp][o]] += reachOpp[o];
+                totalByCard[showdown.second[opp][o]] += reachOpp[o];
+            }
+        }
+        double below = 0;
+        double atMost = 0;
+        double[] belowByCard = new double[Card.DECK_SIZE];
+        double[] atMostByCard = new double[Card.DECK_SIZE];
+        int lower = 0;
+        int upper = 0;
+        double[] values = new double[hands[u].length];
+        for (int h : orderU) {
+            int strength = strengthU[h];
+            while (lower < orderOpp.length && strengthOpp[orderOpp[lower]] < strength) {
+                int o = orderOpp[lower++];
+                below += reachOpp[o];
+                belowByCard[showdown.first[opp][o]] += reachOpp[o];
+                belowByCard[showdown.second[opp][o]] += reachOpp[o];
+            }
+            while (upper < orderOpp.length && strengthOpp[orderOpp[upper]] <= strength) {
+                int o = orderOpp[upper++];
+                atMost += reachOpp[o];
+                atMostByCard[showdown.first[opp][o]] += reachOpp[o];
+                atMostByCard[showdown.second[opp][o]] += reachOpp[o];
+            }
+            int first = showdown.first[u][h];
+            int second = showdown.second[u][h];
+            // A mão idêntica do oponente tem a mesma força: só entra na faixa de empate, onde as
+            // duas cartas a descontam duas vezes
+            int same = comboIndex[opp][first * 52 + second];
+            double wins = below - belowByCard[first] - belowByCard[second];
+            double losses = total - atMost - (totalByCard[first] - atMostByCard[first])
+                    - (totalByCard[second] - atMostByCard[second]);
+            double compatible = total - totalByCard[first] - totalByCard[second] + (same >= 0 ? reachOpp[same] : 0);
+            double ties = compatible - wins - losses;
+            values[h] = win * wins - lose * losses + (win - lose) / 2 * ties;
+        }
+        return values;
+    }
+
+    // Forças das mãos dos dois jogadores numa mesa completa, cartas de cada mão e a ordem
+    // crescente de força; mãos que colidem com a mesa ficam com força -1 (alcance sempre zero)
+    private static final class Showdown {
+        final int[][] strengths = new int[2][];
+        final int[][] order = new int[2][];
+        final int[][] first = new int[2][];
+        final int[][] second = new int[2][];
+    }
+
+    private Showdown showdown(long fullBoard) {
+        Showdown showdown = new Showdown();
+        for (int player = 0; player < 2; player++) {
+            int n = hands[player].length;
+            int[] strength = new int[n];
+            int[] first = new int[n];
+            int[] second = new int[n];
+            long[] keys = new long[n];
+            for (int h = 0; h < n; h++) {
+                long mask = hands[player][h];
+                strength[h] = (mask & fullBoard) != 0 ? -1 : HandEvaluator.evaluate(fullBoard | mask);
+                first[h] = indexOf(Long.numberOfTrailingZeros(mask));
+                second[h] = indexOf(63 - Long.numberOfLeadingZeros(mask));
+                keys[h] = ((long) strength[h] << 32) | h;
+            }
+            Arrays.sort(keys);
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = (int) keys[i];
+            }
+            showdown.strengths[player] = strength;
+            showdown.order[player] = order;
+            showdown.first[player] = first;
+            showdown.second[player] = second;
+        }
+        return showdown;
+    }
+
+    // Estratégia atual por regret matching+: proporcional aos regrets positivos, uniforme se todos zero
+    private double[] currentStrategy(Node node, int n, int actions) {
+        double[] strategy = new double[n * actions];
+        for (int h = 0; h < n; h++) {
+            double sum = 0;
+            for (int a = 0; a < actions; a++) {
+                sum += regrets.get(node.offset + h * actions + a);
+            }
+            for (int a = 0; a < actions; a++) {
+                strategy[h * actions + a] = sum > 0 ? regrets.get(node.offset + h * actions + a) / sum : 1.0 / actions;
+            }
+        }
+        return strategy;
+    }
+
+    // Estratégia média (a que converge para o equilíbrio) da mão no nó de decisão
+    public double[] getAverageStrategy(Node node, int handIndex) {
+        int actions = node.actions.length;
+        double[] strategy = new double[actions];
+        double sum = 0;
+        for (int a = 0; a < actions; a++) {
+            strategy[a] = strategySums.get(node.offset + handIndex * actions + a);
+            sum += strategy[a];
+        }
+        for (int a = 0; a < actions; a++) {
+            strategy[a] = sum > 0 ? strategy[a] / sum : 1.0 / actions;
+        }
+        return strategy;
+    }
+
+    // Índice da mão no range do jogador (após remover as que colidem com a mesa), -1 se ausente
+    public int indexOfHand(int player, long holeMask) {
+        return Long.bitCount(holeMask) == 2 ? comboIndex[player][comboKey(holeMask)] : -1;
+    }
+
+    private static int comboKey(long mask) {
+        int low = indexOf(Long.numberOfTrailingZeros(mask));
+        int high = indexOf(63 - Long.numberOfLeadingZeros(mask));
+        return low * 52 + high;
+    }
+
+    private static int indexOf(int bit) {
+        return Card.indexOfBit(bit);
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public Node getNode(int id) {
+        return nodes.get(id);
+    }
+
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getStreet() {
+        return street;
+    }
+
+    public long[] getHands(int player) {
+        return hands[player];
+    }
+
+    // ---- Persistência ----
+
+    // Grava regrets e somas de estratégia; o cabeçalho identifica a árvore para validar o load
+    public void save(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(40).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(board).putInt(nodes.size()).putInt(slots)
+                .putInt(hands[0].length).putInt(hands[1].length).putInt(iterations).putInt(0);
+        header.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            writeFully(channel, regretBytes.duplicate());
+            writeFully(channel, strategyBytes.duplicate());
+        }
+    }
+
+    // Carrega uma solução gravada por save para esta mesma árvore (mesma mesa, ranges e apostas)
+    public void load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(40).order(ByteOrder.BIG_ENDIAN);
+            readFully(channel, header);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != board
+                    || header.getInt() != nodes.size() || header.getInt() != slots
+                    || header.getInt() != hands[0].length || header.getInt() != hands[1].length) {
+                throw new IOException("A solução em " + file + " é de outra árvore");
+            }
+            iterations = header.getInt();
+            readFully(channel, regretBytes.duplicate());
+            readFully(channel, strategyBytes.duplicate());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Arquivo de solução truncado");
+            }
+        }
+    }
+
+    // Uso: java -cp bin CfrSolver <cartas da mesa, índices 0-51 separados por vírgula> [iterações] [arquivo]
+    // Resolve o subjogo com ranges completos, pote 100 e stacks 200, e mostra a estratégia na raiz
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: CfrSolver <mesa> [iterações] [arquivo]");
+            return;
+        }
+        long boardMask = 0;
+        for (String card : args[0].split(",")) {
+            boardMask |= Card.mask(Integer.parseInt(card.trim()));
+        }
+        int iterationCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        long[] allHands = new long[52 * 51 / 2];
+        double[] uniform = new double[allHands.length];
+        int count = 0;
+        for (int first = 0; first < Card.DECK_SIZE; first++) {
+            for (int second = first + 1; second < Card.DECK_SIZE; second++) {
+                allHands[count] = Card.mask(first) | Card.mask(second);
+                uniform[count++] = 1.0;
+            }
+        }
+        CfrSolver solver = new CfrSolver(boardMask, new long[][] {allHands, allHands},
+                new double[][] {uniform, uniform}, 100, 200, new double[] {0.5, 1.0}, 2, ForkJoinPool.commonPool());
+        Path file = args.length > 2 ? Paths.get(args[2]) : null;
+        if (file != null && Files.exists(file)) {
+            solver.load(file);
+        }
+        long start = System.nanoTime();
+        solver.solve(iterationCount);
+        System.out.printf("%d nós, %d slots, %d iterações em %.1f s%n", solver.getNodeCount(), solver.slots,
+                solver.getIterations(), (System.nanoTime() - start) / 1e9);
+
+        Node root = solver.getRoot();
+        double[] frequencies = new double[root.actions.length];
+        long[] rootHands = solver.getHands(0);
+        for (int h = 0; h < rootHands.length; h++) {
+            double[] strategy = solver.getAverageStrategy(root, h);
+            for (int a = 0; a < frequencies.length; a++) {
+                frequencies[a] += strategy[a] / rootHands.length;
+            }
+        }
+        for (int a = 0; a < frequencies.length; a++) {
+            System.out.printf("%-10s %5.1f%%%n", root.actions[a], frequencies[a] * 100);
+        }
+        if (file != null) {
+            solver.save(file);
+        }
+    }
+}
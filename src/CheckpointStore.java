@@ -0,0 +1,325 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Checkpoints das mesas em disco, um arquivo por mesa (table-<id>.ckpt). A mesa só codifica o
+// estado (GameCheckpoint) e entrega os bytes; uma thread de gravação escreve num arquivo
+// temporário e troca pelo definitivo com move atômico, então um arquivo nunca fica pela metade.
+// Se a gravação atrasar, vale só o checkpoint mais recente de cada mesa. Remoções passam pela
+// mesma fila (TOMBSTONE), então uma gravação já retirada da fila não recria o arquivo de uma mesa
+// removida depois dela. Na partida, restoreAll lê e decodifica todos os arquivos em paralelo
+public class CheckpointStore implements AutoCloseable {
+    private static final String PREFIX = "table-";
+    private static final String SUFFIX = ".ckpt";
+    // Arquivos por tarefa de restauração antes de dividir
+    private static final int LEAF_FILES = 64;
+    // Valor pendente que pede a remoção do arquivo da mesa em vez de uma gravação
+    private static final byte[] TOMBSTONE = new byte[0];
+
+    private final Path directory;
+    // Último checkpoint ainda não gravado de cada mesa; a fila guarda cada mesa pendente uma vez
+    private final ConcurrentMap<Integer, byte[]> pending = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public CheckpointStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        writer = new Thread(this::writeLoop, "checkpoint-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Codifica o estado na thread da mesa e enfileira a gravação; nunca espera pelo disco
+    public void submit(int tableId, PokerGame game) {
+        if (closed) {
+            throw new IllegalStateException("CheckpointStore fechado");
+        }
+        enqueue(tableId, GameCheckpoint.encode(game));
+    }
+
+    // Só a operação mais recente de cada mesa fica pendente; a anterior conta como substituída
+    private void enqueue(int tableId, byte[] data) {
+        submitted.incrementAndGet();
+        if (pending.put(tableId, data) == null) {
+            queue.add(tableId);
+        } else {
+            coalesced.incrementAndGet();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            Integer tableId;
+            try {
+                tableId = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (tableId == null) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            byte[] data = pending.remove(tableId);
+            try {
+                if (data == TOMBSTONE) {
+                    Files.deleteIfExists(fileFor(tableId));
+                    deleted.incrementAndGet();
+                    continue;
+                }
+                Path temporary = directory.resolve(PREFIX + tableId + SUFFIX + ".tmp");
+                Files.write(temporary, data);
+                Files.move(temporary, fileFor(tableId), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                written.incrementAndGet();
+                bytesWritten.addAndGet(data.length);
+            } catch (IOException e) {
+                failures.incrementAndGet();
+                System.err.println("Falha ao " + (data == TOMBSTONE ? "remover" : "gravar") + " o checkpoint da mesa "
+                        + tableId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Path fileFor(int tableId) {
+        return directory.resolve(PREFIX + tableId + SUFFIX);
+    }
+
+    // Espera a fila de gravação esvaziar (desligamento ordenado, testes)
+    public void flush() throws InterruptedException {
+        while (written.get() + deleted.get() + failures.get() + coalesced.get() < submitted.get()) {
+            Thread.sleep(1);
+        }
+    }
+
+    // Grava o que estiver pendente e encerra a thread de gravação. Uma interrupção não abandona a
+    // fila (a thread de gravação só sai com ela vazia): o close espera do mesmo jeito e devolve a
+    // interrupção à thread no fim
+    @Override
+    public void close() {
+        boolean interrupted = false;
+        try {
+            flush();
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        closed = true;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Remove o checkpoint de uma mesa encerrada. A remoção é feita pela thread de gravação, depois
+    // de qualquer gravação da mesa já em andamento, e descarta o checkpoint ainda pendente
+    public void delete(int tableId) {
+        if (closed) {
+            throw new IllegalStateException("CheckpointStore fechado");
+        }
+        enqueue(tableId, TOMBSTONE);
+    }
+
+    // Lê todos os checkpoints em paralelo no pool; arquivos ilegíveis ou de outra versão são
+    // ignorados com um aviso, para que uma mesa corrompida não impeça a partida das demais
+    public Map<Integer, PokerGame> restoreAll(ForkJoinPool pool) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        ConcurrentMap<Integer, PokerGame> games = new ConcurrentHashMap<>(files.size() * 2);
+        pool.invoke(new RestoreTask(files, 0, files.size(), games));
+        return games;
+    }
+
+    private static final class RestoreTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Path> files;
+        private final int from;
+        private final int to;
+        private final ConcurrentMap<Integer, PokerGame> games;
+
+        RestoreTask(List<Path> files, int from, int to, ConcurrentMap<Integer, PokerGame> games) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.games = games;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_FILES) {
+                for (int i = from; i < to; i++) {
+                    Path file = files.get(i);
+                    String name = file.getFileName().toString();
+                    try {
+                        int tableId = Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                        games.put(tableId, GameCheckpoint.decode(ByteBuffer.wrap(Files.readAllBytes(file))));
+                    } catch (IOException | RuntimeException e) {
+                        System.err.println("Checkpoint ignorado (" + name + "): " + e.getMessage());
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RestoreTask(files, from, middle, games), new RestoreTask(files, middle, to, games));
+        }
+    }
+
+    // Listener que salva a mesa a cada mudança de fase (inclui o fim da mão) e, entre fases, na
+    // primeira mudança depois do intervalo informado. Usa onChanged, que chega com a mudança já
+    // completa (jogador da vez atualizado), e roda na thread da mesa, como os demais listeners
+    public GameListener recorder(int tableId, long intervalMillis) {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        return new GameListener() {
+            private long last = System.nanoTime();
+            private long handNumber = -1;
+            private int phase = -1;
+            private boolean handOver;
+
+            @Override
+            public void onStateChanged(PokerGame game) {
+            }
+
+            @Override
+            public void onChanged(PokerGame game, int changes) {
+                boolean phaseChanged = game.getHandNumber() != handNumber || game.getCurrentPhase() != phase
+                        || game.isHandOver() != handOver;
+                if (phaseChanged || System.nanoTime() - last >= intervalNanos) {
+                    handNumber = game.getHandNumber();
+                    phase = game.getCurrentPhase();
+                    handOver = game.isHandOver();
+                    submit(tableId, game);
+                    last = System.nanoTime();
+                }
+            }
+
+            @Override
+            public void onWinner(Player winner) {
+            }
+        };
+    }
+
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    // Checkpoints substituídos por um mais recente da mesma mesa antes de irem ao disco
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    // Arquivos removidos com delete
+    public long getDeleted() {
+        return deleted.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    // Uso: java -cp bin CheckpointStore <pasta> [mesas] [mãos por mesa]
+    // Joga mãos com checkpoints, fecha o armazenamento e restaura todas as mesas em paralelo
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Uso: CheckpointStore <pasta> [mesas=2000] [mãos=5]");
+            return;
+        }
+        Path directory = Paths.get(args[0]);
+        int tableCount = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int hands = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        PokerGame[] games = new PokerGame[tableCount];
+        long actionNanos = 0;
+        long actions = 0;
+        CheckpointStore store = new CheckpointStore(directory);
+        for (int t = 0; t < tableCount; t++) {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                names.add("Mesa " + t + " Jogador " + (i + 1));
+            }
+            games[t] = new PokerGame(names, 1000);
+            games[t].setShuffleRandom(ShuffleRandom.seeded(t));
+            games[t].setBlinds(5, 10, 0);
+            games[t].addListener(store.recorder(t, 50));
+        }
+        long start = System.nanoTime();
+        for (int h = 0; h < hands; h++) {
+            for (int t = 0; t < tableCount; t++) {
+                PokerGame game = games[t];
+                if (game.isHandOver()) {
+                    game.startNewHand();
+                }
+                // Para no meio da última mão, com baralho e mesa parciais
+                int phases = h == hands - 1 ? 2 : 5;
+                for (int p = 0; p < phases && !game.isHandOver(); p++) {
+                    long actionStart = System.nanoTime();
+                    game.dealNextCards();
+                    actionNanos += System.nanoTime() - actionStart;
+                    actions++;
+                }
+            }
+        }
+        double playSeconds = (System.nanoTime() - start) / 1e9;
+        store.close();
+        System.out.printf("%d mesas, %d ações em %.2f s (%.1f µs por ação com checkpoint); %d checkpoints, "
+                + "%d gravados, %d substituídos, %.1f KB%n", tableCount, actions, playSeconds,
+                actionNanos / 1e3 / actions, store.getSubmitted(), store.getWritten(), store.getCoalesced(),
+                store.getBytesWritten() / 1024.0);
+
+        start = System.nanoTime();
+        Map<Integer, PokerGame> restored;
+        try (CheckpointStore reader = new CheckpointStore(directory)) {
+            restored = reader.restoreAll(ForkJoinPool.commonPool());
+        }
+        double restoreMillis = (System.nanoTime() - start) / 1e6;
+        int matching = 0;
+        for (int t = 0; t < tableCount; t++) {
+            PokerGame game = restored.get(t);
+            if (game != null && Arrays.equals(GameCheckpoint.encode(game), GameCheckpoint.encode(games[t]))) {
+                matching++;
+            }
+        }
+        System.out.printf("restauradas %d mesas em %.1f ms, %d idênticas ao estado em memória%n",
+                restored.size(), restoreMillis, matching);
+    }
+}
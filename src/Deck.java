@@ -1,44 +1,79 @@
-
-import java.util.Collections;
-import java.util.Stack;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Deck {
-    private Stack<Card> cards;
+    private final Card[] cards = new Card[Card.DECK_SIZE];
+    private int size;
+    private final RandomGenerator random;
 
+    // Baralho embaralhado com o gerador da thread atual, sem semente
     public Deck() {
-        cards = new Stack<>();
-        initializeDeck();
+        this(ThreadLocalRandom.current());
+    }
+
+    // Baralho embaralhado com o gerador informado; com o mesmo gerador, a mesma ordem
+    public Deck(RandomGenerator random) {
+        this(GameVariant.HOLDEM, random);
     }
 
-    // Método para inicializar o baralho com 52 cartas
-    private void initializeDeck() {
-        String[] suits = {"Paus", "Ouros", "Copas", "Espadas"};
-        String[] ranks = {"2", "3", "4", "5", "6", "7", "8", "9", "10", "Valete", "Rainha", "Rei", "Ás"};
-        for (String suit : suits) {
-            for (String rank : ranks) {
-                cards.push(new Card(rank, suit));
+    // Baralho da variante (36 cartas no short deck), embaralhado com o gerador informado
+    public Deck(GameVariant variant, RandomGenerator random) {
+        this.random = random;
+        initializeDeck(variant);
+    }
+
+    // Baralho restaurado de um checkpoint: as cartas restantes na ordem salva, a última é a do topo
+    Deck(Card[] remaining, RandomGenerator random) {
+        this.random = random;
+        System.arraycopy(remaining, 0, cards, 0, remaining.length);
+        size = remaining.length;
+    }
+
+    // Método para inicializar o baralho com as cartas da variante
+    private void initializeDeck(GameVariant variant) {
+        size = 0;
+        for (int index = 0; index < Card.DECK_SIZE; index++) {
+            if (variant.contains(index)) {
+                cards[size++] = Card.of(index);
             }
         }
         shuffleDeck();
     }
 
-    // Método para embaralhar o baralho
+    // Método para embaralhar o baralho (Fisher-Yates nas cartas restantes)
     public void shuffleDeck() {
-        Collections.shuffle(cards);
+        long start = Metrics.start();
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Card tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
+        }
+        Metrics.stop(Metrics.SHUFFLE_DECK, start);
     }
 
     // Método para retirar a carta do topo do baralho
     public Card drawCard() {
-        return cards.pop();
+        if (size == 0) {
+            throw new IllegalStateException("O baralho está vazio");
+        }
+        return cards[--size];
     }
 
     // Método para verificar se o baralho está vazio
     public boolean isEmpty() {
-        return cards.isEmpty();
+        return size == 0;
     }
 
     // Método para obter o número de cartas restantes no baralho
     public int size() {
-        return cards.size();
+        return size;
+    }
+
+    // Cópia das cartas restantes na ordem em que estão; drawCard retira a última
+    public Card[] remaining() {
+        Card[] copy = new Card[size];
+        System.arraycopy(cards, 0, copy, 0, size);
+        return copy;
     }
 }
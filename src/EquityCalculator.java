@@ -0,0 +1,368 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Calcula a equity de cada jogador completando a mesa aleatoriamente (Monte Carlo)
+// ou enumerando todas as mesas restantes (modo exato)
+public class EquityCalculator {
+    // Quantidade de mesas simuladas por cada tarefa folha do fork-join
+    private static final int LEAF_TRIALS = 8_192;
+    // Mesas simuladas entre duas verificações da precisão atingida
+    private static final long ROUND_TRIALS = 131_072;
+    private static final long[] FACTORIALS = {1, 1, 2, 6, 24};
+
+    private final ForkJoinPool pool;
+
+    public EquityCalculator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public EquityCalculator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Versão de conveniência para as listas de cartas usadas por PokerGame
+    public EquityResult monteCarlo(List<List<Card>> hands, List<Card> communityCards, List<Card> deadCards,
+            long maxTrials, double precision, long seed) {
+        long[] holeMasks = new long[hands.size()];
+        for (int i = 0; i < holeMasks.length; i++) {
+            holeMasks[i] = Card.toMask(hands.get(i));
+        }
+        return monteCarlo(holeMasks, Card.toMask(communityCards), Card.toMask(deadCards), maxTrials, precision, seed);
+    }
+
+    // Simula até maxTrials mesas, parando antes se o intervalo de confiança de 95%
+    // de todos os jogadores ficar abaixo de precision (use 0 para rodar todas)
+    public EquityResult monteCarlo(long[] holeMasks, long boardMask, long deadMask,
+            long maxTrials, double precision, long seed) {
+        return monteCarlo(holeMasks, 0, boardMask, deadMask, maxTrials, precision, seed);
+    }
+
+    // Equity de uma mão contra adversários com cartas aleatórias; o jogador 0 do resultado é o herói
+    public EquityResult monteCarloVsRandom(long heroHole, int opponents, long boardMask, long deadMask,
+            long maxTrials, double precision, long seed) {
+        return monteCarlo(new long[] {heroHole}, opponents, boardMask, deadMask, maxTrials, precision, seed);
+    }
+
+    // Jogadores com mãos conhecidas seguidos de randomOpponents jogadores que recebem cartas
+    // aleatórias a cada mesa simulada
+    private EquityResult monteCarlo(long[] holeMasks, int randomOpponents, long boardMask, long deadMask,
+            long maxTrials, double precision, long seed) {
+        int players = holeMasks.length + randomOpponents;
+        if (players < 2) {
+            throw new IllegalArgumentException("São necessários pelo menos dois jogadores");
+        }
+        int missing = 5 - Long.bitCount(boardMask);
+        if (missing < 0) {
+            throw new IllegalArgumentException("A mesa tem mais de 5 cartas");
+        }
+
+        long used = usedMask(holeMasks, boardMask, deadMask);
+
+        Accumulator total = new Accumulator(players);
+        SplittableRandom random = new SplittableRandom(seed);
+        EquityResult result = total.toResult(false);
+        while (total.trials < maxTrials) {
+            long round = Math.min(ROUND_TRIALS, maxTrials - total.trials);
+            total.add(pool.invoke(new TrialTask(holeMasks, randomOpponents, boardMask, used, missing, round,
+                    random.split())));
+            result = total.toResult(false);
+            if (precision > 0 && result.getMaxConfidenceInterval() <= precision) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    // Versão de conveniência do modo exato para as listas de cartas usadas por PokerGame
+    public EquityResult exact(List<List<Card>> hands, List<Card> communityCards, List<Card> deadCards) {
+        long[] holeMasks = new long[hands.size()];
+        for (int i = 0; i < holeMasks.length; i++) {
+            holeMasks[i] = Card.toMask(hands.get(i));
+        }
+        return exact(holeMasks, Card.toMask(communityCards), Card.toMask(deadCards));
+    }
+
+    // Enumera todas as mesas restantes. Naipes com a mesma assinatura (mesmos valores em cada
+    // mão, na mesa e nas cartas mortas) são intercambiáveis, então só a mesa canônica de cada
+    // classe de isomorfismo é avaliada, com peso igual ao número de mesas que ela representa
+    public EquityResult exact(long[] holeMasks, long boardMask, long deadMask) {
+        if (holeMasks.length < 2) {
+            throw new IllegalArgumentException("São necessários pelo menos dois jogadores");
+        }
+        int missing = 5 - Long.bitCount(boardMask);
+        if (missing < 0) {
+            throw new IllegalArgumentException("A mesa tem mais de 5 cartas");
+        }
+        long used = usedMask(holeMasks, boardMask, deadMask);
+
+        int[] rest = new int[Card.DECK_SIZE - Long.bitCount(used)];
+        int n = 0;
+        for (int index = 0; index < Card.DECK_SIZE; index++) {
+            if ((used & Card.mask(index)) == 0) {
+                rest[n++] = index;
+            }
+        }
+
+        EnumerationTask task = new EnumerationTask(holeMasks, boardMask, rest, missing,
+                suitClasses(holeMasks, boardMask, deadMask), 0, missing == 0 ? 1 : rest.length);
+        return pool.invoke(task).toResult(true);
+    }
+
+    private static long usedMask(long[] holeMasks, long boardMask, long deadMask) {
+        long used = boardMask | deadMask;
+        if ((boardMask & deadMask) != 0) {
+            throw new IllegalArgumentException("Carta repetida entre mãos, mesa e cartas mortas");
+        }
+        for (long hole : holeMasks) {
+            if ((used & hole) != 0) {
+                throw new IllegalArgumentException("Carta repetida entre mãos, mesa e cartas mortas");
+            }
+            used |= hole;
+        }
+        return used;
+    }
+
+    // Agrupa os naipes com a mesma assinatura; cada classe é uma máscara de 4 bits de naipes
+    private static int[] suitClasses(long[] holeMasks, long boardMask, long deadMask) {
+        int[] classes = new int[4];
+        int count = 0;
+        boolean[] assigned = new boolean[4];
+        for (int s = 0; s < 4; s++) {
+            if (assigned[s]) {
+                continue;
+            }
+            int members = 1 << s;
+            for (int t = s + 1; t < 4; t++) {
+                if (!assigned[t] && sameSignature(s, t, holeMasks, boardMask, deadMask)) {
+                    assigned[t] = true;
+                    members |= 1 << t;
+                }
+            }
+            if (Integer.bitCount(members) > 1) {
+                classes[count++] = members;
+            }
+        }
+        return Arrays.copyOf(classes, count);
+    }
+
+    private static boolean sameSignature(int s, int t, long[] holeMasks, long boardMask, long deadMask) {
+        if (suitRanks(boardMask, s) != suitRanks(boardMask, t) || suitRanks(deadMask, s) != suitRanks(deadMask, t)) {
+            return false;
+        }
+        for (long hole : holeMasks) {
+            if (suitRanks(hole, s) != suitRanks(hole, t)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int suitRanks(long mask, int suit) {
+        return (int) (mask >>> (suit * Card.MASK_SUIT_SHIFT)) & 0x1FFF;
+    }
+
+    // Peso da mesa se ela for canônica (valores por naipe em ordem decrescente dentro de cada
+    // classe), ou 0 se for apenas uma permutação de outra mesa já contada
+    static long canonicalWeight(long runout, int[] suitClasses) {
+        long weight = 1;
+        for (int members : suitClasses) {
+            int previous = Integer.MAX_VALUE;
+            int size = 0;
+            int run = 1;
+            long divisor = 1;
+            for (int s = 0; s < 4; s++) {
+                if ((members & (1 << s)) == 0) {
+                    continue;
+                }
+                int ranks = suitRanks(runout, s);
+                if (ranks > previous) {
+                    return 0;
+                }
+                run = ranks == previous ? run + 1 : 1;
+                divisor *= run;
+                previous = ranks;
+                size++;
+            }
+            weight *= FACTORIALS[size] / divisor;
+        }
+        return weight;
+    }
+
+    // Compara as mãos de uma mesa completa e soma a parte do pote de cada jogador
+    static void showdown(long[] holeMasks, long board, int[] strengths, Accumulator acc, long weight) {
+        int best = -1;
+        int winners = 0;
+        for (int p = 0; p < holeMasks.length; p++) {
+            int strength = HandEvaluator.evaluate(board | holeMasks[p]);
+            strengths[p] = strength;
+            if (strength > best) {
+                best = strength;
+                winners = 1;
+            } else if (strength == best) {
+                winners++;
+            }
+        }
+        double share = 1.0 / winners;
+        for (int p = 0; p < holeMasks.length; p++) {
+            if (strengths[p] == best) {
+                if (winners == 1) {
+                    acc.wins[p] += weight;
+                } else {
+                    acc.ties[p] += weight;
+                }
+                acc.equity[p] += share * weight;
+                acc.equitySquares[p] += share * share * weight;
+            }
+        }
+        acc.trials += weight;
+        acc.evaluated++;
+    }
+
+    // Somatórios parciais de uma tarefa; combinados ao final de cada rodada
+    static final class Accumulator {
+        long trials;
+        long evaluated;
+        final double[] wins;
+        final double[] ties;
+        final double[] equity;
+        final double[] equitySquares;
+
+        Accumulator(int players) {
+            wins = new double[players];
+            ties = new double[players];
+            equity = new double[players];
+            equitySquares = new double[players];
+        }
+
+        void add(Accumulator other) {
+            trials += other.trials;
+            evaluated += other.evaluated;
+            for (int p = 0; p < wins.length; p++) {
+                wins[p] += other.wins[p];
+                ties[p] += other.ties[p];
+                equity[p] += other.equity[p];
+                equitySquares[p] += other.equitySquares[p];
+            }
+        }
+
+        EquityResult toResult(boolean exact) {
+            return new EquityResult(trials, evaluated, wins.clone(), ties.clone(), equity.clone(), equitySquares.clone(), exact);
+        }
+    }
+
+    // Divide as mesas ao meio até LEAF_TRIALS; cada metade recebe seu próprio gerador via split()
+    private static final class TrialTask extends RecursiveTask<Accumulator> {
+        private final long[] holeMasks;
+        private final int randomOpponents;
+        private final long boardMask;
+        private final long usedMask;
+        private final int missing;
+        private final long trials;
+        private final SplittableRandom random;
+
+        TrialTask(long[] holeMasks, int randomOpponents, long boardMask, long usedMask, int missing, long trials,
+                SplittableRandom random) {
+            this.holeMasks = holeMasks;
+            this.randomOpponents = randomOpponents;
+            this.boardMask = boardMask;
+            this.usedMask = usedMask;
+            this.missing = missing;
+            this.trials = trials;
+            this.random = random;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (trials > LEAF_TRIALS) {
+                long half = trials / 2;
+                TrialTask left = new TrialTask(holeMasks, randomOpponents, boardMask, usedMask, missing, half,
+                        random.split());
+                TrialTask right = new TrialTask(holeMasks, randomOpponents, boardMask, usedMask, missing,
+                        trials - half, random);
+                left.fork();
+                Accumulator acc = right.compute();
+                acc.add(left.join());
+                return acc;
+            }
+
+            int known = holeMasks.length;
+            long[] hands = Arrays.copyOf(holeMasks, known + randomOpponents);
+            Accumulator acc = new Accumulator(hands.length);
+            int[] strengths = new int[hands.length];
+            IntDeck deck = new IntDeck();
+            deck.reset(usedMask);
+            for (long t = 0; t < trials; t++) {
+                deck.rewind();
+                for (int p = known; p < hands.length; p++) {
+                    hands[p] = Card.mask(deck.drawRandomCard(random)) | Card.mask(deck.drawRandomCard(random));
+                }
+                long board = boardMask;
+                for (int c = 0; c < missing; c++) {
+                    board |= Card.mask(deck.drawRandomCard(random));
+                }
+                showdown(hands, board, strengths, acc, 1);
+            }
+            return acc;
+        }
+    }
+
+    // Enumera as mesas cuja primeira carta nova está em rest[from..to), dividindo o intervalo
+    // entre tarefas do fork-join
+    private static final class EnumerationTask extends RecursiveTask<Accumulator> {
+        private final long[] holeMasks;
+        private final long boardMask;
+        private final int[] rest;
+        private final int missing;
+        private final int[] suitClasses;
+        private final int from;
+        private final int to;
+
+        EnumerationTask(long[] holeMasks, long boardMask, int[] rest, int missing, int[] suitClasses, int from, int to) {
+            this.holeMasks = holeMasks;
+            this.boardMask = boardMask;
+            this.rest = rest;
+            this.missing = missing;
+            this.suitClasses = suitClasses;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                EnumerationTask left = new EnumerationTask(holeMasks, boardMask, rest, missing, suitClasses, from, mid);
+                EnumerationTask right = new EnumerationTask(holeMasks, boardMask, rest, missing, suitClasses, mid, to);
+                left.fork();
+                Accumulator acc = right.compute();
+                acc.add(left.join());
+                return acc;
+            }
+
+            Accumulator acc = new Accumulator(holeMasks.length);
+            int[] strengths = new int[holeMasks.length];
+            if (missing == 0) {
+                showdown(holeMasks, boardMask, strengths, acc, 1);
+            } else {
+                enumerate(from + 1, missing - 1, Card.mask(rest[from]), strengths, acc);
+            }
+            return acc;
+        }
+
+        private void enumerate(int start, int remaining, long runout, int[] strengths, Accumulator acc) {
+            if (remaining == 0) {
+                long weight = canonicalWeight(runout, suitClasses);
+                if (weight != 0) {
+                    showdown(holeMasks, boardMask | runout, strengths, acc, weight);
+                }
+                return;
+            }
+            for (int i = start; i <= rest.length - remaining; i++) {
+                enumerate(i + 1, remaining - 1, runout | Card.mask(rest[i]), strengths, acc);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Regressão do modo exato do EquityCalculator: spots fixos (pré-flop, flop, turn, multiway, cartas
+// mortas, mesa que joga) calculados pelo modo exato e por Monte Carlo. O exato precisa cair dentro
+// do intervalo de confiança do Monte Carlo, somar 1 entre os jogadores e bater com a enumeração
+// direta de todas as mesas, sem simetria de naipes. Sai com código 1 se algum spot divergir
+public class EquityRegression {
+    private static final long MONTE_CARLO_TRIALS = 2_000_000;
+    private static final long SEED = 42L;
+    private static final double EXACT_TOLERANCE = 1e-9;
+    // Intervalo de 99,9% (z = 3,29) a partir do de 95% do EquityResult: com umas 30 comparações, o
+    // de 95% falharia por acaso em alguma delas na maioria das sementes
+    private static final double INTERVAL_SCALE = 3.29 / EquityResult.Z_95;
+
+    private static final String RANKS = "23456789TJQKA";
+    private static final String SUITS = "cdhs"; // mesma ordem de Card.SUITS: paus, ouros, copas, espadas
+
+    // Mãos separadas por espaço, mesa e cartas mortas como sequências de cartas ("AsKh", "Td7c2s")
+    private static final String[][] SPOTS = {
+            {"AsAh KdKc", "", ""},
+            {"AsKs 7c7d", "", ""},
+            {"Ah2h KcQd JsTs", "", ""},
+            {"AcAd KhKs", "", "AhAs"},
+            {"AhKh QsQc", "Th7h2c", ""},
+            {"JcTc AsKd", "9c8d2h", ""},
+            {"6s6d AhQh 9c8c", "Qs9h6h", ""},
+            {"AsQd KsKd", "Qc7s4s", "2s3s"},
+            {"AhKd AsKc", "Jc7d2h", ""},
+            {"8h7h AdAc", "9h6s2hKc", ""},
+            {"5c4c KsQs JdJh", "6c3dTsQh", ""},
+            {"2c3d 4h5s", "AsKsQsJsTs", ""},
+    };
+
+    private static long cards(String text) {
+        long mask = 0;
+        for (int i = 0; i + 1 < text.length(); i += 2) {
+            int rank = RANKS.indexOf(text.charAt(i));
+            int suit = SUITS.indexOf(text.charAt(i + 1));
+            if (rank < 0 || suit < 0) {
+                throw new IllegalArgumentException("Carta inválida: " + text.substring(i, i + 2));
+            }
+            mask |= Card.mask(suit * 13 + rank);
+        }
+        return mask;
+    }
+
+    // Referência independente: todas as mesas restantes, uma a uma, com empate dividindo o pote
+    private static double[] enumerate(long[] holes, long board, long dead) {
+        long used = board | dead;
+        for (long hole : holes) {
+            used |= hole;
+        }
+        List<Integer> rest = new ArrayList<>();
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            if ((used & Card.mask(card)) == 0) {
+                rest.add(card);
+            }
+        }
+        double[] equity = new double[holes.length];
+        long[] boards = {0};
+        enumerate(rest, 0, 5 - Long.bitCount(board), board, holes, equity, boards);
+        for (int p = 0; p < holes.length; p++) {
+            equity[p] /= boards[0];
+        }
+        return equity;
+    }
+
+    private static void enumerate(List<Integer> rest, int from, int missing, long board, long[] holes,
+            double[] equity, long[] boards) {
+        if (missing == 0) {
+            int best = -1;
+            int winners = 0;
+            int[] strengths = new int[holes.length];
+            for (int p = 0; p < holes.length; p++) {
+                strengths[p] = HandEvaluator.evaluateUncached(holes[p] | board);
+                if (strengths[p] > best) {
+                    best = strengths[p];
+                    winners = 1;
+                } else if (strengths[p] == best) {
+                    winners++;
+                }
+            }
+            for (int p = 0; p < holes.length; p++) {
+                if (strengths[p] == best) {
+                    equity[p] += 1.0 / winners;
+                }
+            }
+            boards[0]++;
+            return;
+        }
+        for (int i = from; i <= rest.size() - missing; i++) {
+            enumerate(rest, i + 1, missing - 1, board | Card.mask(rest.get(i)), holes, equity, boards);
+        }
+    }
+
+    // Uso: java -cp bin EquityRegression
+    public static void main(String[] args) {
+        EquityCalculator calculator = new EquityCalculator();
+        List<String> failures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (String[] spot : SPOTS) {
+            String[] hands = spot[0].split(" ");
+            long[] holes = new long[hands.length];
+            for (int p = 0; p < hands.length; p++) {
+                holes[p] = cards(hands[p]);
+            }
+            long board = cards(spot[1]);
+            long dead = cards(spot[2]);
+            String name = spot[0] + (spot[1].isEmpty() ? "" : " / " + spot[1])
+                    + (spot[2].isEmpty() ? "" : " (mortas " + spot[2] + ")");
+
+            EquityResult exact = calculator.exact(holes, board, dead);
+            EquityResult monteCarlo = calculator.monteCarlo(holes, board, dead, MONTE_CARLO_TRIALS, 0, SEED);
+            double[] reference = enumerate(holes, board, dead);
+
+            StringBuilder line = new StringBuilder(String.format("%-40s", name));
+            double sum = 0;
+            for (int p = 0; p < holes.length; p++) {
+                double expected = exact.getEquity(p);
+                double estimate = monteCarlo.getEquity(p);
+                double interval = monteCarlo.getConfidenceInterval(p) * INTERVAL_SCALE;
+                sum += expected;
+                line.append(String.format(" %s %.4f (MC %.4f ± %.4f)", hands[p], expected, estimate, interval));
+                if (Math.abs(expected - estimate) > interval) {
+                    failures.add(String.format("%s: %s exato %.5f fora do intervalo do Monte Carlo %.5f ± %.5f",
+                            name, hands[p], expected, estimate, interval));
+                }
+                if (Math.abs(expected - reference[p]) > EXACT_TOLERANCE) {
+                    failures.add(String.format("%s: %s exato %.9f diferente da enumeração direta %.9f",
+                            name, hands[p], expected, reference[p]));
+                }
+            }
+            if (Math.abs(sum - 1) > EXACT_TOLERANCE) {
+                failures.add(String.format("%s: equities do exato somam %.9f", name, sum));
+            }
+            System.out.println(line);
+        }
+        System.out.printf("%d spots em %.1f s%n", SPOTS.length, (System.nanoTime() - start) / 1e9);
+        if (!failures.isEmpty()) {
+            for (String failure : failures) {
+                System.err.println("FALHA: " + failure);
+            }
+            System.exit(1);
+        }
+    }
+}
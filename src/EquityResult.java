@@ -0,0 +1,88 @@
+// Resultado de um cálculo de equity: vitórias, empates e equity de cada jogador
+public class EquityResult {
+    // z para um intervalo de confiança de 95%
+    static final double Z_95 = 1.96;
+
+    private final long trials;
+    private final long evaluated;
+    private final double[] wins;
+    private final double[] ties;
+    private final double[] equity;
+    private final double[] equitySquares;
+    private final boolean exact;
+
+    EquityResult(long trials, long evaluated, double[] wins, double[] ties, double[] equity, double[] equitySquares, boolean exact) {
+        this.trials = trials;
+        this.evaluated = evaluated;
+        this.wins = wins;
+        this.ties = ties;
+        this.equity = equity;
+        this.equitySquares = equitySquares;
+        this.exact = exact;
+    }
+
+    public long getTrials() {
+        return trials;
+    }
+
+    // Mesas efetivamente avaliadas; no modo exato é menor que getTrials() por causa da simetria de naipes
+    public long getEvaluated() {
+        return evaluated;
+    }
+
+    public int getPlayerCount() {
+        return equity.length;
+    }
+
+    // Fração das mesas em que o jogador vence sozinho
+    public double getWin(int player) {
+        return wins[player] / trials;
+    }
+
+    // Fração das mesas em que o jogador divide o pote
+    public double getTie(int player) {
+        return ties[player] / trials;
+    }
+
+    // Parte esperada do pote, contando empates como divisão igual
+    public double getEquity(int player) {
+        return equity[player] / trials;
+    }
+
+    // Meia largura do intervalo de confiança de 95% da equity (0 no modo exato)
+    public double getConfidenceInterval(int player) {
+        if (exact || trials < 2) {
+            return exact ? 0.0 : 1.0;
+        }
+        double mean = equity[player] / trials;
+        double variance = Math.max(0.0, equitySquares[player] / trials - mean * mean);
+        return Z_95 * Math.sqrt(variance / (trials - 1));
+    }
+
+    // Maior meia largura entre todos os jogadores, usada como critério de parada
+    public double getMaxConfidenceInterval() {
+        double max = 0.0;
+        for (int i = 0; i < equity.length; i++) {
+            max = Math.max(max, getConfidenceInterval(i));
+        }
+        return max;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < equity.length; i++) {
+            sb.append(String.format("Jogador %d: win %.2f%% tie %.2f%% equity %.2f%% ± %.2f%%%n", i,
+                    100 * getWin(i), 100 * getTie(i), 100 * getEquity(i), 100 * getConfidenceInterval(i)));
+        }
+        sb.append(exact ? "exato, " : "Monte Carlo, ").append(trials).append(" mesas");
+        if (evaluated != trials) {
+            sb.append(" (").append(evaluated).append(" avaliadas)");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,205 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+// Tabela de equity pré-calculada contra 1 a 9 adversários aleatórios, gravada em arquivo binário
+// e lida por mapeamento de memória. Há dois tipos: pré-flop, com uma linha por classe de mão
+// inicial (169), e flop, com uma linha por bucket de mão feita + projetos (40).
+// Formato: magic, versão, linhas, colunas (int big-endian) seguidos de linhas * colunas floats
+public class EquityTable {
+    static final int PREFLOP_MAGIC = 0x50464551; // "PFEQ"
+    static final int FLOP_MAGIC = 0x464C4551; // "FLEQ"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    public static final int STARTING_HANDS = 169;
+    public static final int FLOP_BUCKETS = 40;
+    public static final int MAX_OPPONENTS = 9;
+
+    private final MappedByteBuffer buffer;
+    private final int magic;
+    private final int rows;
+    private final int columns;
+
+    private EquityTable(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.magic = buffer.getInt(0);
+        this.rows = buffer.getInt(8);
+        this.columns = buffer.getInt(12);
+        if (magic != PREFLOP_MAGIC && magic != FLOP_MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Arquivo de equity inválido ou de outra versão");
+        }
+        if (buffer.capacity() < HEADER_BYTES + (long) rows * columns * Float.BYTES) {
+            throw new IllegalArgumentException("Arquivo de equity truncado");
+        }
+    }
+
+    public static EquityTable load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // O mapeamento continua válido depois que o canal é fechado
+            return new EquityTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Carrega a tabela se o arquivo existir; caso contrário retorna null
+    public static EquityTable loadIfPresent(Path file) {
+        try {
+            return Files.exists(file) ? load(file) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignorando tabela de equity " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean isPreflop() {
+        return magic == PREFLOP_MAGIC;
+    }
+
+    // Equity (0 a 1) da linha contra o número de adversários informado
+    public float get(int row, int opponents) {
+        if (opponents < 1 || opponents > columns) {
+            throw new IllegalArgumentException("Número de adversários fora da tabela: " + opponents);
+        }
+        return buffer.getFloat(HEADER_BYTES + (row * columns + opponents - 1) * Float.BYTES);
+    }
+
+    public float preflopEquity(Card first, Card second, int opponents) {
+        return get(startingHandClass(first.getIndex(), second.getIndex()), opponents);
+    }
+
+    // NaN se o bucket não apareceu na amostragem usada para gerar a tabela
+    public float flopEquity(long holeMask, long flopMask, int opponents) {
+        return get(flopBucket(holeMask, flopMask), opponents);
+    }
+
+    // Classe de mão inicial numa grade 13x13: pares na diagonal, suited acima e offsuit abaixo
+    static int startingHandClass(int first, int second) {
+        int a = first % 13;
+        int b = second % 13;
+        int high = Math.max(a, b);
+        int low = Math.min(a, b);
+        if (first / 13 == second / 13) {
+            return high * 13 + low;
+        }
+        return low * 13 + high;
+    }
+
+    // Bucket do flop: categoria da mão feita (10) x projeto de flush x projeto de sequência
+    static int flopBucket(long holeMask, long flopMask) {
+        long cards = holeMask | flopMask;
+        int category = HandEvaluator.category(HandEvaluator.evaluate(cards));
+        int flushDraw = 0;
+        int ranks = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            int suitRanks = (int) (cards >>> (suit * Card.MASK_SUIT_SHIFT)) & 0x1FFF;
+            if (Integer.bitCount(suitRanks) == 4) {
+                flushDraw = 1;
+            }
+            ranks |= suitRanks;
+        }
+        int straightDraw = 0;
+        if (category < HandEvaluator.STRAIGHT) {
+            // Quatro valores de qualquer janela de cinco (incluindo A-2-3-4-5)
+            int wheel = ((ranks & 0x1000) >>> 12) | ((ranks & 0xF) << 1);
+            for (int low = 0; low <= 9 && straightDraw == 0; low++) {
+                if (Integer.bitCount((ranks >>> low) & 0x1F) == 4) {
+                    straightDraw = 1;
+                }
+            }
+            if (Integer.bitCount(wheel & 0x1F) == 4) {
+                straightDraw = 1;
+            }
+        }
+        return (category - 1) * 4 + flushDraw * 2 + straightDraw;
+    }
+
+    // Uma mão representante de cada classe, simulada contra 1 a 9 adversários aleatórios
+    static float[] generatePreflop(EquityCalculator calculator, long trials, long seed) {
+        float[] values = new float[STARTING_HANDS * MAX_OPPONENTS];
+        for (int row = 0; row < STARTING_HANDS; row++) {
+            int first = row / 13;
+            int second = row % 13;
+            // Acima da diagonal (linha > coluna) a classe é suited; na diagonal e abaixo, naipes diferentes
+            long hole = first > second ? Card.mask(first) | Card.mask(second)
+                    : Card.mask(first) | Card.mask(13 + second);
+            for (int opponents = 1; opponents <= MAX_OPPONENTS; opponents++) {
+                values[row * MAX_OPPONENTS + opponents - 1] = (float) calculator
+                        .monteCarloVsRandom(hole, opponents, 0L, 0L, trials, 0.002, seed + row * 16 + opponents)
+                        .getEquity(0);
+            }
+        }
+        return values;
+    }
+
+    // Média da equity de flops amostrados, agrupada por bucket
+    static float[] generateFlop(EquityCalculator calculator, int samples, long trialsPerSample, long seed) {
+        double[] sums = new double[FLOP_BUCKETS * MAX_OPPONENTS];
+        int[] counts = new int[FLOP_BUCKETS];
+        SplittableRandom random = new SplittableRandom(seed);
+        IntDeck deck = new IntDeck();
+        for (int sample = 0; sample < samples; sample++) {
+            deck.rewind();
+            long hole = Card.mask(deck.drawRandomCard(random)) | Card.mask(deck.drawRandomCard(random));
+            long flop = 0L;
+            for (int c = 0; c < 3; c++) {
+                flop |= Card.mask(deck.drawRandomCard(random));
+            }
+            int bucket = flopBucket(hole, flop);
+            counts[bucket]++;
+            for (int opponents = 1; opponents <= MAX_OPPONENTS; opponents++) {
+                sums[bucket * MAX_OPPONENTS + opponents - 1] += calculator
+                        .monteCarloVsRandom(hole, opponents, flop, 0L, trialsPerSample, 0, random.nextLong())
+                        .getEquity(0);
+            }
+        }
+        float[] values = new float[sums.length];
+        for (int i = 0; i < values.length; i++) {
+            int count = counts[i / MAX_OPPONENTS];
+            values[i] = count == 0 ? Float.NaN : (float) (sums[i] / count);
+        }
+        return values;
+    }
+
+    static void write(Path file, int magic, int rows, int columns, float[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + values.length * Float.BYTES).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(magic).putInt(VERSION).putInt(rows).putInt(columns);
+        for (float value : values) {
+            buffer.putFloat(value);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    // Uso: java -cp bin EquityTable preflop <arquivo> [mesas por célula]
+    //      java -cp bin EquityTable flop <arquivo> [flops amostrados] [mesas por flop]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: EquityTable preflop|flop <arquivo> [parâmetros]");
+            return;
+        }
+        EquityCalculator calculator = new EquityCalculator();
+        Path file = Paths.get(args[1]);
+        long start = System.nanoTime();
+        if (args[0].equals("preflop")) {
+            long trials = args.length > 2 ? Long.parseLong(args[2]) : 20_000;
+            write(file, PREFLOP_MAGIC, STARTING_HANDS, MAX_OPPONENTS, generatePreflop(calculator, trials, 42L));
+        } else {
+            int samples = args.length > 2 ? Integer.parseInt(args[2]) : 5_000;
+            long trials = args.length > 3 ? Long.parseLong(args[3]) : 500;
+            write(file, FLOP_MAGIC, FLOP_BUCKETS, MAX_OPPONENTS, generateFlop(calculator, samples, trials, 42L));
+        }
+        System.out.printf("%s gravado em %.1f s%n", file, (System.nanoTime() - start) / 1e9);
+    }
+}
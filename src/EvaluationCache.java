@@ -0,0 +1,155 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+// Cache limitado e concorrente de máscara de cartas -> força da mão. A chave é canônica: as
+// quatro faixas de naipe são ordenadas, então mãos que diferem só por permutação de naipes
+// (e têm a mesma força) ocupam uma única entrada. A tabela é associativa por conjunto: cada
+// chave cai num conjunto de WAYS entradas e a substituição dentro dele segue o algoritmo CLOCK
+// (bit de referência + ponteiro giratório). Os conjuntos são protegidos por locks listrados do
+// tipo StampedLock, com leitura otimista, então acertos normalmente não bloqueiam
+public class EvaluationCache {
+    private static final int WAYS = 8;
+    private static final int STRIPES = 256;
+    private static final long EMPTY = -1L;
+
+    private final long[] keys;
+    private final int[] values;
+    private final byte[] referenced;
+    private final byte[] hands;     // ponteiro CLOCK de cada conjunto
+    private final int setMask;
+    private final StampedLock[] locks = new StampedLock[STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // capacity é arredondada para potência de 2 (mínimo WAYS entradas)
+    public EvaluationCache(int capacity) {
+        int sets = Integer.highestOneBit(Math.max(1, capacity / WAYS));
+        keys = new long[sets * WAYS];
+        values = new int[sets * WAYS];
+        referenced = new byte[sets * WAYS];
+        hands = new byte[sets];
+        setMask = sets - 1;
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new StampedLock();
+        }
+    }
+
+    // Força da mão da máscara, calculada por HandEvaluator só em caso de falta
+    public int get(long mask) {
+        long key = canonical(mask);
+        int set = set(key);
+        int base = set * WAYS;
+        StampedLock lock = locks[set & (STRIPES - 1)];
+
+        long stamp = lock.tryOptimisticRead();
+        int found = find(key, base);
+        int value = found >= 0 ? values[found] : 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = find(key, base);
+                value = found >= 0 ? values[found] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (found >= 0) {
+            referenced[found] = 1; // Dica para o CLOCK; uma corrida aqui só afeta a escolha da vítima
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = HandEvaluator.evaluateUncached(key);
+        stamp = lock.writeLock();
+        try {
+            if (find(key, base) < 0) {
+                insert(key, value, set, base);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return value;
+    }
+
+    private int find(long key, int base) {
+        for (int way = 0; way < WAYS; way++) {
+            if (keys[base + way] == key) {
+                return base + way;
+            }
+        }
+        return -1;
+    }
+
+    // CLOCK: avança o ponteiro limpando bits de referência até achar uma entrada livre ou não usada
+    private void insert(long key, int value, int set, int base) {
+        int hand = hands[set];
+        while (true) {
+            int slot = base + hand;
+            hand = (hand + 1) & (WAYS - 1);
+            if (keys[slot] == EMPTY || referenced[slot] == 0) {
+                if (keys[slot] != EMPTY) {
+                    evictions.increment();
+                }
+                keys[slot] = key;
+                values[slot] = value;
+                referenced[slot] = 0;
+                hands[set] = (byte) hand;
+                return;
+            }
+            referenced[slot] = 0;
+        }
+    }
+
+    private int set(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & setMask;
+    }
+
+    // Ordena as quatro faixas de naipe em ordem decrescente (rede de ordenação de 5 comparações)
+    static long canonical(long mask) {
+        long a = mask & 0xFFFF;
+        long b = (mask >>> 16) & 0xFFFF;
+        long c = (mask >>> 32) & 0xFFFF;
+        long d = mask >>> 48;
+        long t;
+        if (a < b) { t = a; a = b; b = t; }
+        if (c < d) { t = c; c = d; d = t; }
+        if (a < c) { t = a; a = c; c = t; }
+        if (b < d) { t = b; b = d; d = t; }
+        if (b < c) { t = b; b = c; c = t; }
+        return a | (b << 16) | (c << 32) | (d << 48);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EvaluationCache[%d entradas, acertos %.1f%%, %d faltas, %d despejos]",
+                keys.length, 100 * getHitRate(), getMisses(), getEvictions());
+    }
+}
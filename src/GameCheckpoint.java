@@ -0,0 +1,155 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Estado completo de um PokerGame em binário compacto (big-endian), para recuperação após falha:
+// jogadores (nome, fichas, contribuição, desistência, cartas), pote, dealer, jogador da vez, fase,
+// cartas comunitárias e a ordem das cartas que restam no baralho. Cartas são índices de 0 a 51
+// num byte. Formato: magic, versão, e os campos na ordem de encode; decode aceita só versões conhecidas.
+// Versão 2 acrescenta no fim a volta de apostas (aposta atual, aumento mínimo, máscaras de assentos)
+// e, por assento, se é humano e quanto apostou na volta; na versão 1 a volta recomeça na restauração.
+// Versão 3 acrescenta a variante (GameVariant); versões anteriores são sempre Hold'em
+public final class GameCheckpoint {
+    static final int MAGIC = 0x50474350; // "PGCP"
+    static final int VERSION = 3;
+
+    private static final int RNG_SEEDED = 0;
+    private static final int RNG_SECURE = 1;
+
+    private GameCheckpoint() {
+    }
+
+    public static byte[] encode(PokerGame game) {
+        List<Player> players = game.getPlayers();
+        List<Card> board = game.getCommunityCards();
+        Card[] deck = game.getDeck().remaining();
+        byte[][] names = new byte[players.size()][];
+        int size = 4 + 4 + 8 + 1 + 8 + 4 * 4 + 5 + 4 + 1 + board.size() + 1 + deck.length + 1
+                + 4 + 4 + 3 * 8 + players.size() * (1 + 4) + 1;
+        for (int s = 0; s < players.size(); s++) {
+            names[s] = players.get(s).getName().getBytes(StandardCharsets.UTF_8);
+            size += 2 + names[s].length + 4 + 4 + 1 + 1 + players.get(s).getHand().size();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putLong(game.getHandNumber());
+        ShuffleRandom shuffleRandom = game.getShuffleRandom();
+        buffer.put((byte) (shuffleRandom.isSecure() ? RNG_SECURE : RNG_SEEDED));
+        buffer.putLong(shuffleRandom.isSecure() ? 0L : shuffleRandom.getSeed());
+        buffer.putInt(game.getInitialChips()).putInt(game.getSmallBlind()).putInt(game.getBigBlind()).putInt(game.getAnte());
+        buffer.put((byte) game.getCurrentPhase());
+        buffer.put((byte) (game.isHandOver() ? 1 : 0));
+        buffer.put((byte) game.getDealerIndex());
+        buffer.put((byte) game.getCurrentPlayerIndex());
+        buffer.put((byte) (game.getWinner() != null ? players.indexOf(game.getWinner()) : -1));
+        buffer.putInt(game.getPot());
+        putCards(buffer, board.toArray(new Card[0]));
+        putCards(buffer, deck);
+        buffer.put((byte) players.size());
+        for (int s = 0; s < players.size(); s++) {
+            Player player = players.get(s);
+            buffer.putShort((short) names[s].length).put(names[s]);
+            buffer.putInt(player.getChips());
+            buffer.putInt(game.getContribution(s));
+            buffer.put((byte) (player.hasFolded() ? 1 : 0));
+            putCards(buffer, player.getHand().toArray(new Card[0]));
+        }
+        buffer.putInt(game.getCurrentBet()).putInt(game.getMinRaise());
+        buffer.putLong(game.getPendingSeats()).putLong(game.getActedSeats()).putLong(game.getLockedSeats());
+        for (int s = 0; s < players.size(); s++) {
+            buffer.put((byte) (players.get(s).isHuman() ? 1 : 0));
+            buffer.putInt(game.getStreetContribution(s));
+        }
+        buffer.put((byte) game.getVariant().ordinal());
+        return buffer.array();
+    }
+
+    public static PokerGame decode(ByteBuffer buffer) {
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Checkpoint inválido");
+        }
+        int version = buffer.getInt();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Checkpoint de versão desconhecida: " + version);
+        }
+        long handNumber = buffer.getLong();
+        int rng = buffer.get();
+        long seed = buffer.getLong();
+        int initialChips = buffer.getInt();
+        int smallBlind = buffer.getInt();
+        int bigBlind = buffer.getInt();
+        int ante = buffer.getInt();
+        int phase = buffer.get();
+        boolean handOver = buffer.get() != 0;
+        int dealer = buffer.get();
+        int current = buffer.get();
+        int winnerSeat = buffer.get();
+        int pot = buffer.getInt();
+        Card[] board = getCards(buffer);
+        Card[] remaining = getCards(buffer);
+        int seats = buffer.get();
+        List<Player> players = new ArrayList<>(seats);
+        int[] contributions = new int[seats];
+        for (int s = 0; s < seats; s++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            Player player = new Player(new String(name, StandardCharsets.UTF_8), buffer.getInt());
+            contributions[s] = buffer.getInt();
+            if (buffer.get() != 0) {
+                player.fold();
+            }
+            for (Card card : getCards(buffer)) {
+                player.receiveCard(card);
+            }
+            players.add(player);
+        }
+
+        ShuffleRandom shuffleRandom = rng == RNG_SECURE ? ShuffleRandom.secure() : ShuffleRandom.seeded(seed);
+        PokerGame game = PokerGame.seated(players, initialChips);
+        game.setBlinds(smallBlind, bigBlind, ante);
+        game.restoreState(handNumber, shuffleRandom, new Deck(remaining, shuffleRandom.forHand(handNumber)),
+                List.of(board), dealer, current, phase, pot, contributions, handOver, winnerSeat);
+        if (version >= 2) {
+            int currentBet = buffer.getInt();
+            int minRaise = buffer.getInt();
+            long pending = buffer.getLong();
+            long acted = buffer.getLong();
+            long locked = buffer.getLong();
+            int[] street = new int[seats];
+            for (int s = 0; s < seats; s++) {
+                players.get(s).setHuman(buffer.get() != 0);
+                street[s] = buffer.getInt();
+            }
+            game.restoreBetting(currentBet, minRaise, street, pending, acted, locked);
+        }
+        if (version >= 3) {
+            int variant = buffer.get();
+            if (variant < 0 || variant >= GameVariant.values().length) {
+                throw new IllegalArgumentException("Checkpoint corrompido: variante " + variant);
+            }
+            game.restoreVariant(GameVariant.values()[variant]);
+        }
+        return game;
+    }
+
+    private static void putCards(ByteBuffer buffer, Card[] cards) {
+        buffer.put((byte) cards.length);
+        for (Card card : cards) {
+            buffer.put((byte) card.getIndex());
+        }
+    }
+
+    private static Card[] getCards(ByteBuffer buffer) {
+        int count = buffer.get();
+        if (count < 0 || count > Card.DECK_SIZE) {
+            throw new IllegalArgumentException("Checkpoint corrompido: " + count + " cartas");
+        }
+        Card[] cards = new Card[count];
+        for (int i = 0; i < count; i++) {
+            cards[i] = Card.of(buffer.get());
+        }
+        return cards;
+    }
+}
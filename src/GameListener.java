@@ -0,0 +1,35 @@
+// Recebe as notificações de um PokerGame; a GUI é apenas uma das implementações possíveis
+public interface GameListener {
+    // Chamado depois de cada mudança de estado (cartas distribuídas, apostas, desistências)
+    void onStateChanged(PokerGame game);
+
+    // Versão detalhada de onStateChanged: changes combina as flags PokerGame.CHANGED_* do que mudou.
+    // Por padrão repassa para onStateChanged; a GUI usa as flags para redesenhar só o necessário
+    default void onChanged(PokerGame game, int changes) {
+        onStateChanged(game);
+    }
+
+    // Chamado quando a mão termina e o pote é entregue ao vencedor
+    void onWinner(Player winner);
+
+    // Chamado no início de cada mão, antes das cartas próprias serem distribuídas
+    default void onHandStarted(PokerGame game) {
+    }
+
+    // Chamado depois de cada distribuição; phase é a fase em que as cartas saíram
+    // (0 = cartas próprias, 1 = flop, 2 = turn, 3 = river)
+    default void onCardsDealt(PokerGame game, int phase) {
+    }
+
+    // Chamado quando o assento coloca um blind ou o ante, antes das cartas próprias
+    default void onPost(PokerGame game, int seat, int amount, boolean ante) {
+    }
+
+    // Chamado depois que o jogador do assento informado age
+    default void onAction(PokerGame game, int seat, Action action) {
+    }
+
+    // Chamado quando o pote foi pago (PokerGame.getPayout), antes de onWinner
+    default void onHandFinished(PokerGame game) {
+    }
+}
@@ -0,0 +1,109 @@
+// Variantes de jogo: quantas cartas cada jogador recebe, quais cartas formam o baralho e como a
+// melhor mão é avaliada. Hold'em e short deck (6+, sem 2 a 5) valem a melhor mão de 5 entre todas
+// as cartas; Omaha com 4 (PLO4) ou 5 (PLO5) cartas exige exatamente 2 próprias e 3 da mesa.
+// Forças só são comparáveis dentro da mesma variante
+public enum GameVariant {
+    HOLDEM("Texas Hold'em", 2, 2),
+    OMAHA4("Omaha (4 cartas)", 4, 2),
+    OMAHA5("Omaha (5 cartas)", 5, 2),
+    SHORT_DECK("Short Deck (6+)", 2, 6);
+
+    private static final int BOARD_CARDS = 5;
+
+    // Avaliador ligado a uma mesa: setBoard uma vez e evaluate para cada jogador, para que a
+    // preparação da mesa (trincas do Omaha) seja dividida entre todos. Não é thread-safe
+    public interface Evaluator {
+        void setBoard(long board);
+
+        int evaluate(long hole);
+    }
+
+    private final String displayName;
+    private final int holeCards;
+    private final long deckMask;
+
+    GameVariant(String displayName, int holeCards, int lowestValue) {
+        this.displayName = displayName;
+        this.holeCards = holeCards;
+        long mask = 0;
+        for (int index = 0; index < Card.DECK_SIZE; index++) {
+            if (index % 13 + 2 >= lowestValue) {
+                mask |= Card.mask(index);
+            }
+        }
+        this.deckMask = mask;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    // Cartas próprias de cada jogador
+    public int getHoleCards() {
+        return holeCards;
+    }
+
+    // Cartas que fazem parte do baralho da variante, como máscara (bit = naipe * 16 + valor - 2)
+    public long getDeckMask() {
+        return deckMask;
+    }
+
+    public int getDeckSize() {
+        return Long.bitCount(deckMask);
+    }
+
+    public boolean contains(int cardIndex) {
+        return (deckMask & Card.mask(cardIndex)) != 0;
+    }
+
+    // Jogadores que o baralho comporta com a mesa completa
+    public int getMaxPlayers() {
+        return (getDeckSize() - BOARD_CARDS) / holeCards;
+    }
+
+    public boolean isOmaha() {
+        return this == OMAHA4 || this == OMAHA5;
+    }
+
+    public Evaluator newEvaluator() {
+        return isOmaha() ? new OmahaEvaluator() : new AllCardsEvaluator(this == SHORT_DECK);
+    }
+
+    // Avaliação avulsa de uma mão; para vários jogadores na mesma mesa, prefira newEvaluator
+    public int evaluate(long hole, long board) {
+        if (isOmaha()) {
+            return OmahaEvaluator.evaluateDirect(hole, board);
+        }
+        return this == SHORT_DECK ? HandEvaluator.evaluateShortDeck(hole | board) : HandEvaluator.evaluate(hole | board);
+    }
+
+    // Nome da combinação de uma força calculada nesta variante
+    public String describe(int strength) {
+        return this == SHORT_DECK ? HandEvaluator.describeShortDeck(strength) : HandEvaluator.describe(strength);
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    // Hold'em e short deck: melhor mão de 5 entre as cartas próprias e as da mesa
+    private static final class AllCardsEvaluator implements Evaluator {
+        private final boolean shortDeck;
+        private long board;
+
+        AllCardsEvaluator(boolean shortDeck) {
+            this.shortDeck = shortDeck;
+        }
+
+        @Override
+        public void setBoard(long board) {
+            this.board = board;
+        }
+
+        @Override
+        public int evaluate(long hole) {
+            return shortDeck ? HandEvaluator.evaluateShortDeck(hole | board) : HandEvaluator.evaluate(hole | board);
+        }
+    }
+}
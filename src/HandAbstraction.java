@@ -0,0 +1,552 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Abstração de mãos por buckets: cada mão (cartas próprias + mesa), reduzida à forma canônica
+// por troca de naipes, recebe um bucket de 0 (mais fraca) a N-1. No river a característica é a
+// equity contra uma mão aleatória; no flop e no turn é o histograma (acumulado) da equity no river
+// ao longo das cartas que faltam. Os buckets saem de um k-means sobre mesas canônicas: no flop
+// todas as 1.755 (cobrem qualquer mão), no turn e no river um sorteio sem mesas repetidas. Cada mesa
+// cobre de uma vez todos os combos de cartas próprias (RangeEquity.comboEquities); mãos fora da
+// tabela têm a característica calculada só para o combo consultado.
+// Formato: magic, versão, cartas na mesa, buckets, dimensão, entradas (int big-endian), depois os
+// centróides (floats), as chaves canônicas ordenadas (longs) e o bucket de cada chave (shorts)
+public class HandAbstraction {
+    static final int MAGIC = 0x424B4D50; // "BKMP"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+
+    static final int HISTOGRAM_BINS = 20;
+    // Combinações de turn e river sorteadas por mesa de flop
+    static final int FLOP_RUNOUTS = 64;
+    static final int MAX_ITERATIONS = 50;
+    // Mesas com características calculadas de uma vez na construção (limita a memória)
+    private static final int BOARDS_PER_BLOCK = 256;
+
+    private final MappedByteBuffer buffer;
+    private final int boardCards;
+    private final int buckets;
+    private final int dims;
+    private final int entries;
+    private final float[] centroids;
+    private final int keysOffset;
+    private final int bucketsOffset;
+
+    private HandAbstraction(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Arquivo de buckets inválido ou de outra versão");
+        }
+        boardCards = buffer.getInt(8);
+        buckets = buffer.getInt(12);
+        dims = buffer.getInt(16);
+        entries = buffer.getInt(20);
+        keysOffset = HEADER_BYTES + buckets * dims * Float.BYTES;
+        bucketsOffset = keysOffset + entries * Long.BYTES;
+        if (buffer.capacity() < bucketsOffset + (long) entries * Short.BYTES) {
+            throw new IllegalArgumentException("Arquivo de buckets truncado");
+        }
+        // Os centróides são poucos e usados em toda consulta que não está na tabela
+        centroids = new float[buckets * dims];
+        for (int i = 0; i < centroids.length; i++) {
+            centroids[i] = buffer.getFloat(HEADER_BYTES + i * Float.BYTES);
+        }
+    }
+
+    public static HandAbstraction load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new HandAbstraction(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Bucket da mão; fora das mesas da tabela, calcula a característica só desse combo e usa o
+    // centróide mais próximo
+    public int bucket(long holeMask, long boardMask) {
+        checkHand(holeMask, boardMask);
+        long key = canonicalKey(holeMask, boardMask);
+        int position = indexOf(key);
+        if (position >= 0) {
+            return buffer.getShort(bucketsOffset + position * Short.BYTES);
+        }
+        return nearest(centroids, buckets, dims, comboFeatures(holeMask, boardMask, new SplittableRandom(key)), 0);
+    }
+
+    // Se a classe da mão está na tabela (consulta sem cálculo)
+    public boolean contains(long holeMask, long boardMask) {
+        checkHand(holeMask, boardMask);
+        return indexOf(canonicalKey(holeMask, boardMask)) >= 0;
+    }
+
+    private void checkHand(long holeMask, long boardMask) {
+        if (Long.bitCount(boardMask) != boardCards) {
+            throw new IllegalArgumentException("Esta tabela é para mesas de " + boardCards + " cartas");
+        }
+        if (Long.bitCount(holeMask) != 2 || (holeMask & boardMask) != 0) {
+            throw new IllegalArgumentException("A mão precisa de 2 cartas próprias fora da mesa");
+        }
+    }
+
+    // Busca binária nas chaves ordenadas do arquivo
+    private int indexOf(long key) {
+        int low = 0;
+        int high = entries - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = buffer.getLong(keysOffset + middle * Long.BYTES);
+            if (value < key) {
+                low = middle + 1;
+            } else if (value > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    public int getBoardCards() {
+        return boardCards;
+    }
+
+    public int getBucketCount() {
+        return buckets;
+    }
+
+    public int getEntryCount() {
+        return entries;
+    }
+
+    // Bytes ocupados pelo arquivo mapeado
+    public long getFootprintBytes() {
+        return buffer.capacity();
+    }
+
+    // ---- Forma canônica ----
+
+    // Chave de 64 bits da classe da mão sob troca de naipes: as faixas de naipe (valores próprios e
+    // da mesa) são ordenadas em ordem decrescente e as cartas resultantes empacotadas em 6 bits cada
+    static long canonicalKey(long holeMask, long boardMask) {
+        long a = lane(holeMask, boardMask, 0);
+        long b = lane(holeMask, boardMask, 1);
+        long c = lane(holeMask, boardMask, 2);
+        long d = lane(holeMask, boardMask, 3);
+        long t;
+        if (a < b) { t = a; a = b; b = t; }
+        if (c < d) { t = c; c = d; d = t; }
+        if (a < c) { t = a; a = c; c = t; }
+        if (b < d) { t = b; b = d; d = t; }
+        if (b < c) { t = b; b = c; c = t; }
+        long[] lanes = {a, b, c, d};
+        long key = 0;
+        int shift = 0;
+        // Primeiro as cartas próprias, depois as da mesa, cada grupo em ordem crescente
+        for (int part = 1; part >= 0; part--) {
+            for (int suit = 0; suit < 4; suit++) {
+                long ranks = (lanes[suit] >>> (13 * part)) & 0x1FFF;
+                while (ranks != 0) {
+                    int rank = Long.numberOfTrailingZeros(ranks);
+                    key |= (long) (suit * 13 + rank + 1) << shift;
+                    shift += 6;
+                    ranks &= ranks - 1;
+                }
+            }
+        }
+        return key;
+    }
+
+    private static long lane(long holeMask, long boardMask, int suit) {
+        int shift = suit * Card.MASK_SUIT_SHIFT;
+        return (((holeMask >>> shift) & 0x1FFF) << 13) | ((boardMask >>> shift) & 0x1FFF);
+    }
+
+    // Representante da classe da mesa sob troca de naipes: as cartas da chave canônica sem cartas próprias
+    static long canonicalBoard(long boardMask) {
+        long board = 0;
+        for (long key = canonicalKey(0, boardMask); key != 0; key >>>= 6) {
+            board |= Card.mask((int) (key & 63) - 1);
+        }
+        return board;
+    }
+
+    // Todas as mesas canônicas de n cartas (1.755 no flop), em ordem crescente de máscara
+    static long[] canonicalBoards(int cards) {
+        Set<Long> boards = new LinkedHashSet<>();
+        enumerateBoards(cards, 0, 0L, boards);
+        return boards.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private static void enumerateBoards(int missing, int from, long board, Set<Long> result) {
+        if (missing == 0) {
+            result.add(canonicalBoard(board));
+            return;
+        }
+        for (int card = from; card <= Card.DECK_SIZE - missing; card++) {
+            enumerateBoards(missing - 1, card + 1, board | Card.mask(card), result);
+        }
+    }
+
+    // ---- Características ----
+
+    static int dims(int boardCards) {
+        return boardCards == 5 ? 1 : HISTOGRAM_BINS;
+    }
+
+    // Características de todos os combos numa mesa (Range.COMBOS x dims); combos que colidem com a
+    // mesa ficam com NaN. No flop e no turn é o histograma acumulado, cuja distância L2 aproxima
+    // a distância de transporte (EMD) entre as distribuições de equity
+    static float[] boardFeatures(long board, SplittableRandom random, long[] keys, double[] equities) {
+        int cards = Long.bitCount(board);
+        int dims = dims(cards);
+        float[] features = new float[Range.COMBOS * dims];
+        if (cards == 5) {
+            RangeEquity.comboEquities(board, keys, equities);
+            for (int combo = 0; combo < Range.COMBOS; combo++) {
+                features[combo] = (float) equities[combo];
+            }
+            return features;
+        }
+        int[] counts = new int[Range.COMBOS];
+        int[] free = new int[Card.DECK_SIZE];
+        int freeCount = 0;
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            if ((board & Card.mask(card)) == 0) {
+                free[freeCount++] = card;
+            }
+        }
+        int runouts = cards == 4 ? freeCount : FLOP_RUNOUTS;
+        for (int r = 0; r < runouts; r++) {
+            long runout;
+            if (cards == 4) {
+                runout = Card.mask(free[r]);
+            } else {
+                int first = random.nextInt(freeCount);
+                int second = random.nextInt(freeCount - 1);
+                if (second >= first) {
+                    second++;
+                }
+                runout = Card.mask(free[first]) | Card.mask(free[second]);
+            }
+            RangeEquity.comboEquities(board | runout, keys, equities);
+            for (int combo = 0; combo < Range.COMBOS; combo++) {
+                if ((Range.comboMask(combo) & runout) != 0 || Double.isNaN(equities[combo])) {
+                    continue;
+                }
+                int bin = Math.min(dims - 1, (int) (equities[combo] * dims));
+                features[combo * dims + bin]++;
+                counts[combo]++;
+            }
+        }
+        for (int combo = 0; combo < Range.COMBOS; combo++) {
+            int offset = combo * dims;
+            if (counts[combo] == 0) {
+                Arrays.fill(features, offset, offset + dims, Float.NaN);
+                continue;
+            }
+            float cumulative = 0;
+            for (int bin = 0; bin < dims; bin++) {
+                cumulative += features[offset + bin];
+                features[offset + bin] = cumulative / counts[combo];
+            }
+        }
+        return features;
+    }
+
+    // Características de um único combo, na mesma escala de boardFeatures; no flop as sequências
+    // de turn e river são sorteadas com random, como na construção
+    static float[] comboFeatures(long hole, long board, SplittableRandom random) {
+        int cards = Long.bitCount(board);
+        int dims = dims(cards);
+        float[] features = new float[dims];
+        if (cards == 5) {
+            features[0] = (float) comboEquity(hole, board);
+            return features;
+        }
+        int[] free = new int[Card.DECK_SIZE];
+        int freeCount = 0;
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            if (((board | hole) & Card.mask(card)) == 0) {
+                free[freeCount++] = card;
+            }
+        }
+        int runouts = cards == 4 ? freeCount : FLOP_RUNOUTS;
+        for (int r = 0; r < runouts; r++) {
+            long runout;
+            if (cards == 4) {
+                runout = Card.mask(free[r]);
+            } else {
+                int first = random.nextInt(freeCount);
+                int second = random.nextInt(freeCount - 1);
+                if (second >= first) {
+                    second++;
+                }
+                runout = Card.mask(free[first]) | Card.mask(free[second]);
+            }
+            int bin = Math.min(dims - 1, (int) (comboEquity(hole, board | runout) * dims));
+            features[bin]++;
+        }
+        float cumulative = 0;
+        for (int bin = 0; bin < dims; bin++) {
+            cumulative += features[bin];
+            features[bin] = cumulative / runouts;
+        }
+        return features;
+    }
+
+    // Equity no river contra uma mão aleatória (empate vale metade), como em RangeEquity.comboEquities
+    private static double comboEquity(long hole, long board) {
+        int hero = HandEvaluator.evaluate(hole | board);
+        long dead = hole | board;
+        double wins = 0;
+        int matchups = 0;
+        for (int combo = 0; combo < Range.COMBOS; combo++) {
+            long villain = Range.comboMask(combo);
+            if ((villain & dead) != 0) {
+                continue;
+            }
+            int strength = HandEvaluator.evaluate(villain | board);
+            wins += hero > strength ? 1 : hero == strength ? 0.5 : 0;
+            matchups++;
+        }
+        return wins / matchups;
+    }
+
+    private static int nearest(float[] centroids, int k, int dims, float[] point, int offset) {
+        int best = 0;
+        double bestDistance = Double.MAX_VALUE;
+        for (int c = 0; c < k; c++) {
+            double distance = 0;
+            for (int d = 0; d < dims; d++) {
+                double diff = point[offset + d] - centroids[c * dims + d];
+                distance += diff * diff;
+            }
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    // ---- Construção ----
+
+    // Escolhe as mesas canônicas (todas, com boards <= 0 ou acima do total, ou um sorteio sem
+    // repetição), calcula as características em paralelo, agrupa com k-means e grava o arquivo
+    static void build(Path file, int boardCards, int boards, int bucketCount, long seed, ForkJoinPool pool)
+            throws IOException {
+        int dims = dims(boardCards);
+        long start = System.nanoTime();
+
+        long[] boardMasks = canonicalBoards(boardCards);
+        if (boards > 0 && boards < boardMasks.length) {
+            Set<Long> sampled = new LinkedHashSet<>();
+            SplittableRandom random = new SplittableRandom(seed);
+            IntDeck deck = new IntDeck();
+            while (sampled.size() < boards) {
+                deck.reset(0L);
+                long board = 0;
+                for (int c = 0; c < boardCards; c++) {
+                    board |= Card.mask(deck.drawRandomCard(random));
+                }
+                sampled.add(canonicalBoard(board));
+            }
+            boardMasks = sampled.stream().mapToLong(Long::longValue).toArray();
+        }
+        boards = boardMasks.length;
+
+        // Uma entrada por classe canônica. Cada classe pertence a uma única mesa canônica, então só
+        // as simetrias de naipe da própria mesa geram repetições
+        long[] keys = new long[1024];
+        float[] points = new float[1024 * dims];
+        int count = 0;
+        Set<Long> seen = new HashSet<>();
+        for (int from = 0; from < boards; from += BOARDS_PER_BLOCK) {
+            int to = Math.min(boards, from + BOARDS_PER_BLOCK);
+            float[][] perBoard = new float[boards][];
+            pool.invoke(new FeatureTask(boardMasks, perBoard, from, to, seed));
+            for (int b = from; b < to; b++) {
+                seen.clear();
+                for (int combo = 0; combo < Range.COMBOS; combo++) {
+                    if (Float.isNaN(perBoard[b][combo * dims])) {
+                        continue;
+                    }
+                    long key = canonicalKey(Range.comboMask(combo), boardMasks[b]);
+                    if (!seen.add(key)) {
+                        continue;
+                    }
+                    if (count == keys.length) {
+                        keys = Arrays.copyOf(keys, count * 2);
+                        points = Arrays.copyOf(points, count * 2 * dims);
+                    }
+                    keys[count] = key;
+                    System.arraycopy(perBoard[b], combo * dims, points, count * dims, dims);
+                    count++;
+                }
+                perBoard[b] = null;
+            }
+        }
+        points = Arrays.copyOf(points, count * dims);
+        long featuresDone = System.nanoTime();
+
+        KMeans kMeans = new KMeans(points, dims, bucketCount);
+        kMeans.run(MAX_ITERATIONS, seed, pool);
+        int k = kMeans.getK();
+        long clustered = System.nanoTime();
+
+        // Buckets numerados da mão mais fraca para a mais forte
+        float[] centroids = kMeans.getCentroids();
+        Integer[] order = new Integer[k];
+        double[] strength = new double[k];
+        for (int c = 0; c < k; c++) {
+            order[c] = c;
+            for (int d = 0; d < dims; d++) {
+                strength[c] += dims == 1 ? centroids[c] : -centroids[c * dims + d];
+            }
+        }
+        Arrays.sort(order, (x, y) -> Double.compare(strength[x], strength[y]));
+        int[] relabel = new int[k];
+        for (int i = 0; i < k; i++) {
+            relabel[order[i]] = i;
+        }
+
+        Integer[] byKey = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            byKey[i] = i;
+        }
+        long[] finalKeys = keys;
+        Arrays.sort(byKey, (x, y) -> Long.compare(finalKeys[x], finalKeys[y]));
+        int[] assignments = kMeans.getAssignments();
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + k * dims * Float.BYTES + count * (Long.BYTES + Short.BYTES))
+                .order(ByteOrder.BIG_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).putInt(boardCards).putInt(k).putInt(dims).putInt(count);
+        for (int i = 0; i < k; i++) {
+            for (int d = 0; d < dims; d++) {
+                out.putFloat(centroids[order[i] * dims + d]);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            out.putLong(keys[byKey[i]]);
+        }
+        for (int i = 0; i < count; i++) {
+            out.putShort((short) relabel[assignments[byKey[i]]]);
+        }
+        out.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+        long written = System.nanoTime();
+
+        System.out.printf("%s: %d mesas, %d mãos canônicas, %d buckets, dimensão %d%n", file, boards, count, k, dims);
+        System.out.printf("  características %.1f s, k-means %.1f s (%d iterações, inércia média %.5f), gravação %.1f s%n",
+                (featuresDone - start) / 1e9, (clustered - featuresDone) / 1e9, kMeans.getIterations(),
+                kMeans.getInertia() / count, (written - clustered) / 1e9);
+        System.out.printf("  memória na construção %.1f MB (características), arquivo %.1f MB%n",
+                (double) points.length * Float.BYTES / (1 << 20), (double) Files.size(file) / (1 << 20));
+    }
+
+    private static final class FeatureTask extends RecursiveAction {
+        private final long[] boards;
+        private final float[][] results;
+        private final int from;
+        private final int to;
+        private final long seed;
+
+        FeatureTask(long[] boards, float[][] results, int from, int to, long seed) {
+            this.boards = boards;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 4) {
+                long[] keys = new long[Range.COMBOS];
+                double[] equities = new double[Range.COMBOS];
+                for (int b = from; b < to; b++) {
+                    results[b] = boardFeatures(boards[b], new SplittableRandom(seed + b), keys, equities);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FeatureTask(boards, results, from, middle, seed),
+                    new FeatureTask(boards, results, middle, to, seed));
+        }
+    }
+
+    // Uso: java -cp bin HandAbstraction <pasta> [buckets] [mesas de flop] [mesas de turn] [mesas de river]
+    // Grava flop-buckets.bin, turn-buckets.bin e river-buckets.bin e mede carga e consulta. Mesas
+    // 0 (padrão no flop) usam todas as mesas canônicas
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: HandAbstraction <pasta> [buckets] [mesas de flop] [mesas de turn] [mesas de river]");
+            return;
+        }
+        Path dir = Paths.get(args[0]);
+        Files.createDirectories(dir);
+        int[] values = {50, 0, 200, 1000};
+        for (int i = 1; i < Math.min(args.length, values.length + 1); i++) {
+            values[i - 1] = Integer.parseInt(args[i]);
+        }
+        String[] names = {"flop", "turn", "river"};
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int street = 0; street < 3; street++) {
+            Path file = dir.resolve(names[street] + "-buckets.bin");
+            build(file, street + 3, values[street + 1], values[0], 42L + street, pool);
+
+            long start = System.nanoTime();
+            HandAbstraction abstraction = load(file);
+            double loadMillis = (System.nanoTime() - start) / 1e6;
+            SplittableRandom random = new SplittableRandom(7);
+            IntDeck deck = new IntDeck();
+            int lookups = 100_000;
+            int hits = 0;
+            long[] missHoles = new long[lookups];
+            long[] missBoards = new long[lookups];
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                deck.reset(0L);
+                long hole = Card.mask(deck.drawRandomCard(random)) | Card.mask(deck.drawRandomCard(random));
+                long board = 0;
+                for (int c = 0; c < street + 3; c++) {
+                    board |= Card.mask(deck.drawRandomCard(random));
+                }
+                if (abstraction.contains(hole, board) && abstraction.bucket(hole, board) >= 0) {
+                    hits++;
+                } else {
+                    missHoles[i - hits] = hole;
+                    missBoards[i - hits] = board;
+                }
+            }
+            double lookupNanos = (double) (System.nanoTime() - start) / lookups;
+            System.out.printf("  carga %.2f ms, consulta %.0f ns, %.1f%% das mãos aleatórias na tabela%n",
+                    loadMillis, lookupNanos, 100.0 * hits / lookups);
+            // Consultas fora da tabela calculam só o combo pedido
+            int misses = Math.min(200, lookups - hits);
+            if (misses > 0) {
+                start = System.nanoTime();
+                for (int i = 0; i < misses; i++) {
+                    abstraction.bucket(missHoles[i], missBoards[i]);
+                }
+                System.out.printf("  consulta fora da tabela %.3f ms%n", (System.nanoTime() - start) / 1e6 / misses);
+            }
+        }
+    }
+}
@@ -1,148 +1,258 @@
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 public class HandEvaluator {
 
     // Definição de constantes para os rankings das mãos de pôquer
-    private static final int HIGH_CARD = 1;
-    private static final int ONE_PAIR = 2;
-    private static final int TWO_PAIR = 3;
-    private static final int THREE_OF_A_KIND = 4;
-    private static final int STRAIGHT = 5;
-    private static final int FLUSH = 6;
-    private static final int FULL_HOUSE = 7;
-    private static final int FOUR_OF_A_KIND = 8;
-    private static final int STRAIGHT_FLUSH = 9;
-    private static final int ROYAL_FLUSH = 10;
-
-    // Classe interna para representar a força de uma mão
-    private static class HandStrength implements Comparable<HandStrength> {
-        private final int rankValue;
-        private final List<Integer> tieBreakers;
-
-        public HandStrength(int rankValue, List<Integer> tieBreakers) {
-            this.rankValue = rankValue;
-            this.tieBreakers = tieBreakers;
-        }
+    static final int HIGH_CARD = 1;
+    static final int ONE_PAIR = 2;
+    static final int TWO_PAIR = 3;
+    static final int THREE_OF_A_KIND = 4;
+    static final int STRAIGHT = 5;
+    static final int FLUSH = 6;
+    static final int FULL_HOUSE = 7;
+    static final int FOUR_OF_A_KIND = 8;
+    static final int STRAIGHT_FLUSH = 9;
+    static final int ROYAL_FLUSH = 10;
+
+    private static final String[] HAND_NAMES = {"", "Carta Alta", "Par", "Dois Pares", "Trinca", "Sequência",
+            "Flush", "Full House", "Quadra", "Straight Flush", "Royal Flush"};
+
+    // No short deck (6+) flush vence full house: as duas categorias trocam de posição na força
+    static final int SHORT_DECK_FULL_HOUSE = FLUSH;
+    static final int SHORT_DECK_FLUSH = FULL_HOUSE;
+    private static final String[] SHORT_DECK_HAND_NAMES = {"", "Carta Alta", "Par", "Dois Pares", "Trinca",
+            "Sequência", "Full House", "Flush", "Quadra", "Straight Flush", "Royal Flush"};
+
+    // A força de uma mão é um único int: categoria nos bits 20+ e até cinco
+    // desempates (valores 2 a 14) em nibbles de 4 bits, do mais para o menos significativo
+    private static final int CATEGORY_SHIFT = 20;
+
+    // Cada naipe ocupa uma faixa de 16 bits na máscara da mão (bit = naipe * 16 + valor - 2)
+    private static final int SUIT_SHIFT = Card.MASK_SUIT_SHIFT;
+    private static final int RANK_BITS = 0x1FFF;
+
+    // Tabelas pré-calculadas, indexadas pelos 13 bits de valores presentes
+    private static final byte[] STRAIGHT_HIGH = new byte[RANK_BITS + 1]; // valor mais alto da sequência, 0 se não houver
+    private static final byte[] SHORT_DECK_STRAIGHT_HIGH = new byte[RANK_BITS + 1]; // idem, com A-6-7-8-9 no lugar de A-2-3-4-5
+    private static final int[] TOP_FIVE = new int[RANK_BITS + 1]; // até cinco maiores valores, empacotados em nibbles
 
-        @Override
-        public int compareTo(HandStrength other) {
-            if (this.rankValue != other.rankValue) {
-                return Integer.compare(this.rankValue, other.rankValue);
+    static {
+        for (int ranks = 0; ranks <= RANK_BITS; ranks++) {
+            // Sequências do Ás (bit 12) até o 6 (bit 4)
+            for (int high = 12; high >= 4; high--) {
+                int run = 0x1F << (high - 4);
+                if ((ranks & run) == run) {
+                    STRAIGHT_HIGH[ranks] = (byte) (high + 2);
+                    break;
+                }
             }
-            for (int i = 0; i < Math.min(this.tieBreakers.size(), other.tieBreakers.size()); i++) {
-                int compare = Integer.compare(this.tieBreakers.get(i), other.tieBreakers.get(i));
-                if (compare != 0)
-                    return compare;
+            // A-2-3-4-5 conta como sequência de 5
+            SHORT_DECK_STRAIGHT_HIGH[ranks] = STRAIGHT_HIGH[ranks];
+            if (STRAIGHT_HIGH[ranks] == 0 && (ranks & 0x100F) == 0x100F) {
+                STRAIGHT_HIGH[ranks] = 5;
             }
-            return 0;
+            // Sem 2 a 5 no baralho curto, o Ás fecha A-6-7-8-9, sequência de 9
+            if (SHORT_DECK_STRAIGHT_HIGH[ranks] == 0 && (ranks & 0x10F0) == 0x10F0) {
+                SHORT_DECK_STRAIGHT_HIGH[ranks] = 9;
+            }
+
+            int packed = 0;
+            int taken = 0;
+            for (int bit = 12; bit >= 0 && taken < 5; bit--) {
+                if ((ranks & (1 << bit)) != 0) {
+                    packed |= (bit + 2) << (4 * (4 - taken));
+                    taken++;
+                }
+            }
+            TOP_FIVE[ranks] = packed;
         }
     }
 
     // Avalia o vencedor entre uma lista de jogadores
     public Player evaluateWinner(List<Player> players, List<Card> communityCards) {
-        Map<Player, HandStrength> playerStrengths = new HashMap<>();
+        long start = Metrics.start();
+        long board = Card.toMask(communityCards);
+        Player best = null;
+        int bestStrength = -1;
         for (Player player : players) {
-            List<Card> sevenCards = new ArrayList<>(player.getHand());
-            sevenCards.addAll(communityCards);
-            HandStrength strength = evaluateHand(sevenCards);
-            playerStrengths.put(player, strength);
+            int strength = evaluate(board | Card.toMask(player.getHand()));
+            if (strength > bestStrength) {
+                bestStrength = strength;
+                best = player;
+            }
         }
+        Metrics.stop(Metrics.EVALUATE_WINNER, start);
+        return best;
+    }
 
-        return Collections.max(playerStrengths.entrySet(), Map.Entry.comparingByValue()).getKey();
+    // Cache opcional de avaliações; null desliga o cache
+    private static volatile EvaluationCache cache;
+
+    // Liga (ou, com null, desliga) o cache usado por evaluate em todos os avaliadores
+    static void setCache(EvaluationCache evaluationCache) {
+        cache = evaluationCache;
+    }
+
+    static EvaluationCache getCache() {
+        return cache;
     }
 
-    // Avalia a mão de sete cartas para determinar a melhor combinação possível
-    private HandStrength evaluateHand(List<Card> sevenCards) {
-        sevenCards.sort(Comparator.comparingInt(this::getCardValue).reversed());
+    // Avalia de 5 a 7 cartas representadas como máscara de bits e retorna a força da melhor mão
+    static int evaluate(long mask) {
+        EvaluationCache current = cache;
+        return current == null ? evaluateUncached(mask) : current.get(mask);
+    }
 
-        Map<String, List<Card>> cardsBySuit = sevenCards.stream().collect(Collectors.groupingBy(Card::getSuit));
-        Map<Integer, Long> countsByRank = sevenCards.stream()
-                .collect(Collectors.groupingBy(Card::getCardValue, Collectors.counting()));
+    // Avaliação direta, sem passar pelo cache
+    static int evaluateUncached(long mask) {
+        return evaluateMask(mask, false);
+    }
 
-        // Verificar se há um flush e ao mesmo tempo determinar se há um straight flush
-        List<Card> flush = findFlush(cardsBySuit);
-        List<Card> straight = findStraight(sevenCards);
+    // Short deck (6+): 5 a 7 cartas de um baralho sem 2 a 5. Mesma força de evaluate, com
+    // SHORT_DECK_FLUSH acima de SHORT_DECK_FULL_HOUSE e A-6-7-8-9 como a menor sequência
+    static int evaluateShortDeck(long mask) {
+        return evaluateMask(mask, true);
+    }
 
-        if (flush != null && !straight.isEmpty() && straight.get(0).getCardValue() == 14) {
-            return new HandStrength(ROYAL_FLUSH, Arrays.asList(14)); // A mão mais alta possível
+    private static int evaluateMask(long mask, boolean shortDeck) {
+        int clubs = (int) mask & RANK_BITS;
+        int diamonds = (int) (mask >>> SUIT_SHIFT) & RANK_BITS;
+        int hearts = (int) (mask >>> (2 * SUIT_SHIFT)) & RANK_BITS;
+        int spades = (int) (mask >>> (3 * SUIT_SHIFT)) & RANK_BITS;
+
+        // Contagem de valores por operações de bits: cada máscara marca os valores
+        // que aparecem pelo menos 2, 3 ou 4 vezes
+        int any = clubs | diamonds | hearts | spades;
+        int atLeastTwo = (clubs & diamonds) | (clubs & hearts) | (clubs & spades)
+                | (diamonds & hearts) | (diamonds & spades) | (hearts & spades);
+        int atLeastThree = (clubs & diamonds & hearts) | (clubs & diamonds & spades)
+                | (clubs & hearts & spades) | (diamonds & hearts & spades);
+        int quads = clubs & diamonds & hearts & spades;
+
+        int flushRanks = flushRanks(clubs, diamonds, hearts, spades);
+        return shortDeck ? evaluateShortDeck(flushRanks, any, atLeastTwo, atLeastThree, quads)
+                : evaluate(flushRanks, any, atLeastTwo, atLeastThree, quads);
+    }
+
+    // Avalia a partir das máscaras de valores já separadas: valores do naipe de flush (0 se não
+    // houver) e valores presentes pelo menos 1, 2, 3 e 4 vezes. Usado também por HandTracker,
+    // que mantém essas máscaras carta a carta
+    static int evaluate(int flushRanks, int any, int atLeastTwo, int atLeastThree, int quads) {
+        if (flushRanks != 0) {
+            int straightFlushHigh = STRAIGHT_HIGH[flushRanks];
+            if (straightFlushHigh == 14) {
+                return make(ROYAL_FLUSH, 14 << 16);
+            }
+            if (straightFlushHigh != 0) {
+                return make(STRAIGHT_FLUSH, straightFlushHigh << 16);
+            }
+        }
+        if (quads != 0) {
+            int quad = Integer.highestOneBit(quads);
+            return make(FOUR_OF_A_KIND, (rankOf(quad) << 16) | (top(any & ~quad, 1) << 12));
         }
-        if (flush != null && !straight.isEmpty()) {
-            return new HandStrength(STRAIGHT_FLUSH, Arrays.asList(straight.get(0).getCardValue()));
+        if (atLeastThree != 0) {
+            int trips = Integer.highestOneBit(atLeastThree);
+            int pairs = atLeastTwo & ~trips;
+            if (pairs != 0) {
+                return make(FULL_HOUSE, (rankOf(trips) << 16) | (rankOf(Integer.highestOneBit(pairs)) << 12));
+            }
         }
-        List<Card> fourOfAKind = findNOfAKind(countsByRank, 4, sevenCards);
-        if (!fourOfAKind.isEmpty()) {
-            return new HandStrength(FOUR_OF_A_KIND, Collections.singletonList(fourOfAKind.get(0).getCardValue()));
+        if (flushRanks != 0) {
+            return make(FLUSH, TOP_FIVE[flushRanks]);
         }
+        return evaluateBelowFlush(STRAIGHT_HIGH, any, atLeastTwo, atLeastThree);
+    }
 
-        List<Card> threeOfAKind = findNOfAKind(countsByRank, 3, sevenCards);
-        List<Card> pair = findNOfAKind(countsByRank, 2, sevenCards);
-        if (!threeOfAKind.isEmpty() && !pair.isEmpty()) {
-            return new HandStrength(FULL_HOUSE,
-                    Arrays.asList(threeOfAKind.get(0).getCardValue(), pair.get(0).getCardValue()));
+    // Versão short deck de evaluate(flushRanks, ...), também usada por HandTracker
+    static int evaluateShortDeck(int flushRanks, int any, int atLeastTwo, int atLeastThree, int quads) {
+        if (flushRanks != 0) {
+            int straightFlushHigh = SHORT_DECK_STRAIGHT_HIGH[flushRanks];
+            if (straightFlushHigh == 14) {
+                return make(ROYAL_FLUSH, 14 << 16);
+            }
+            if (straightFlushHigh != 0) {
+                return make(STRAIGHT_FLUSH, straightFlushHigh << 16);
+            }
         }
-        if (flush != null) {
-            return new HandStrength(FLUSH, flush.stream().map(Card::getCardValue).collect(Collectors.toList()));
+        if (quads != 0) {
+            int quad = Integer.highestOneBit(quads);
+            return make(FOUR_OF_A_KIND, (rankOf(quad) << 16) | (top(any & ~quad, 1) << 12));
         }
-        if (!straight.isEmpty()) {
-            return new HandStrength(STRAIGHT, Arrays.asList(straight.get(0).getCardValue()));
+        if (flushRanks != 0) {
+            return make(SHORT_DECK_FLUSH, TOP_FIVE[flushRanks]);
+        }
+        if (atLeastThree != 0) {
+            int trips = Integer.highestOneBit(atLeastThree);
+            int pairs = atLeastTwo & ~trips;
+            if (pairs != 0) {
+                return make(SHORT_DECK_FULL_HOUSE, (rankOf(trips) << 16) | (rankOf(Integer.highestOneBit(pairs)) << 12));
+            }
+        }
+        return evaluateBelowFlush(SHORT_DECK_STRAIGHT_HIGH, any, atLeastTwo, atLeastThree);
+    }
+
+    // Sequência e categorias abaixo dela, iguais nas duas ordens de mãos
+    private static int evaluateBelowFlush(byte[] straights, int any, int atLeastTwo, int atLeastThree) {
+        int straightHigh = straights[any];
+        if (straightHigh != 0) {
+            return make(STRAIGHT, straightHigh << 16);
         }
-        if (!threeOfAKind.isEmpty()) {
-            return new HandStrength(THREE_OF_A_KIND, Arrays.asList(threeOfAKind.get(0).getCardValue()));
+        if (atLeastThree != 0) {
+            int trips = Integer.highestOneBit(atLeastThree);
+            return make(THREE_OF_A_KIND, (rankOf(trips) << 16) | (top(any & ~trips, 2) << 8));
         }
-        if (pair.size() >= 2) {
-            return new HandStrength(TWO_PAIR, pair.stream().map(Card::getCardValue).sorted(Comparator.reverseOrder())
-                    .collect(Collectors.toList()));
+        if (Integer.bitCount(atLeastTwo) >= 2) {
+            int highPair = Integer.highestOneBit(atLeastTwo);
+            int lowPair = Integer.highestOneBit(atLeastTwo & ~highPair);
+            return make(TWO_PAIR, (rankOf(highPair) << 16) | (rankOf(lowPair) << 12)
+                    | (top(any & ~(highPair | lowPair), 1) << 8));
         }
-        if (!pair.isEmpty()) {
-            return new HandStrength(ONE_PAIR, Arrays.asList(pair.get(0).getCardValue()));
+        if (atLeastTwo != 0) {
+            return make(ONE_PAIR, (rankOf(atLeastTwo) << 16) | (top(any & ~atLeastTwo, 3) << 4));
         }
 
         // Retorna a mão de carta alta se nenhuma outra combinação for encontrada
-        return new HandStrength(HIGH_CARD,
-                sevenCards.stream().map(Card::getCardValue).limit(5).collect(Collectors.toList()));
+        return make(HIGH_CARD, TOP_FIVE[any]);
+    }
+
+    // Extrai a categoria (HIGH_CARD a ROYAL_FLUSH) de uma força calculada por evaluate
+    static int category(int strength) {
+        return strength >>> CATEGORY_SHIFT;
+    }
+
+    // Nome da melhor combinação, para exibição
+    static String describe(int strength) {
+        return HAND_NAMES[category(strength)];
+    }
+
+    static String describeShortDeck(int strength) {
+        return SHORT_DECK_HAND_NAMES[category(strength)];
     }
 
     // Métodos auxiliares para encontrar combinações específicas
-    private List<Card> findFlush(Map<String, List<Card>> cardsBySuit) {
-        return cardsBySuit.values().stream().filter(suitCards -> suitCards.size() >= 5).findFirst().orElse(null);
-    }
-
-    private List<Card> findStraight(List<Card> cards) {
-        List<Integer> cardValues = cards.stream().map(Card::getCardValue).distinct().sorted()
-                .collect(Collectors.toList());
-        for (int i = 0; i <= cardValues.size() - 5; i++) {
-            if (cardValues.get(i) - cardValues.get(i + 4) == 4) {
-                int startValue = cardValues.get(i);
-                return cards.stream()
-                        .filter(card -> card.getCardValue() >= startValue && card.getCardValue() <= startValue + 4)
-                        .sorted(Comparator.comparingInt(Card::getCardValue).reversed()).collect(Collectors.toList());
-            }
-        }
-        return Collections.emptyList(); // Retorna uma lista vazia se não encontrar uma sequência
+    private static int flushRanks(int clubs, int diamonds, int hearts, int spades) {
+        if (Integer.bitCount(clubs) >= 5)
+            return clubs;
+        if (Integer.bitCount(diamonds) >= 5)
+            return diamonds;
+        if (Integer.bitCount(hearts) >= 5)
+            return hearts;
+        if (Integer.bitCount(spades) >= 5)
+            return spades;
+        return 0;
+    }
+
+    // Os n maiores valores presentes em ranks, empacotados nos n nibbles de menor ordem
+    private static int top(int ranks, int n) {
+        return TOP_FIVE[ranks] >>> (4 * (5 - n));
     }
 
-    private List<Card> findNOfAKind(Map<Integer, Long> countsByRank, int n, List<Card> cards) {
-        return countsByRank.entrySet().stream()
-                .filter(entry -> entry.getValue() == n)
-                .flatMap(entry -> cards.stream().filter(card -> card.getCardValue() == entry.getKey()).limit(n))
-                .collect(Collectors.toList());
+    private static int rankOf(int singleBit) {
+        return Integer.numberOfTrailingZeros(singleBit) + 2;
     }
 
-    private int getCardValue(Card card) {
-        // Assume que os valores dos ranks são pré-definidos (Ás = 14, Rei = 13, etc.)
-        return switch (card.getRank()) {
-            case "Ás" -> 14;
-            case "Rei" -> 13;
-            case "Rainha" -> 12;
-            case "Valete" -> 11;
-            default -> Integer.parseInt(card.getRank());
-        };
+    private static int make(int category, int tieBreakers) {
+        return (category << CATEGORY_SHIFT) | tieBreakers;
     }
 }
@@ -0,0 +1,24 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Evento JFR com a duração de cada mão, do início da distribuição até o pagamento do pote
+@Name("poker.Hand")
+@Label("Mão de pôquer")
+@Category("Poker")
+@Description("Uma mão completa de PokerGame")
+public class HandEvent extends Event {
+    @Label("Jogadores")
+    int players;
+
+    @Label("Pote")
+    int pot;
+
+    @Label("Fase final")
+    int phase;
+
+    @Label("Vencedor")
+    String winner;
+}
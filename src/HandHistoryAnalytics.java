@@ -0,0 +1,74 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Estatísticas por jogador sobre arquivos de histórico. Os arquivos são lidos em paralelo, cada
+// um com seu próprio HandStatistics, e os resultados são somados. Cada refresh lê apenas o que
+// foi acrescentado aos arquivos desde a leitura anterior
+public class HandHistoryAnalytics {
+    private final List<Path> files = new ArrayList<>();
+    private final Map<Path, Long> offsets = new ConcurrentHashMap<>();
+    private final HandStatistics totals = new HandStatistics();
+    private long hands;
+
+    public HandHistoryAnalytics(List<Path> files) {
+        this.files.addAll(files);
+    }
+
+    public synchronized void addFile(Path file) {
+        files.add(file);
+    }
+
+    // Processa as mãos novas de todos os arquivos e retorna quantas foram lidas nesta chamada
+    public synchronized long refresh() {
+        AtomicLong read = new AtomicLong();
+        // Cada elemento é um acumulador novo, então merge pode alterar o operando da esquerda
+        files.parallelStream()
+                .map(file -> {
+                    HandStatistics stats = new HandStatistics();
+                    read.addAndGet(readNewHands(file, stats));
+                    return stats;
+                })
+                .reduce(HandStatistics::merge)
+                .ifPresent(totals::merge);
+        hands += read.get();
+        return read.get();
+    }
+
+    private long readNewHands(Path file, HandStatistics stats) {
+        try (HandHistoryReader reader = new HandHistoryReader(file, offsets.getOrDefault(file, 0L))) {
+            long count = reader.replay(stats);
+            offsets.put(file, reader.getCompletedOffset());
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized HandStatistics getStatistics() {
+        return totals;
+    }
+
+    public synchronized long getHands() {
+        return hands;
+    }
+
+    // Uso: java -cp bin HandHistoryAnalytics <arquivo>...
+    public static void main(String[] args) {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            files.add(Paths.get(arg));
+        }
+        HandHistoryAnalytics analytics = new HandHistoryAnalytics(files);
+        long start = System.nanoTime();
+        long hands = analytics.refresh();
+        System.out.print(analytics.getStatistics().report());
+        System.out.printf("%d mãos em %.2f s%n", hands, (System.nanoTime() - start) / 1e9);
+    }
+}
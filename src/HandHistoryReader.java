@@ -0,0 +1,201 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Lê um arquivo de HandHistoryWriter em fluxo, com um buffer fixo, e repassa os eventos a um
+// HandHistoryVisitor. Nada além da mão corrente fica em memória, então arquivos com milhões de
+// mãos podem ser reproduzidos ou analisados. Uma mão incompleta no fim do arquivo (gravação
+// interrompida) é ignorada a partir do ponto em que os dados acabam, sem handFinished
+public class HandHistoryReader implements AutoCloseable {
+    private static final int BUFFER_BYTES = 256 * 1024;
+    private static final int HEADER_BYTES = 5;
+
+    private final FileChannel channel;
+    private final byte version;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long bufferStart; // posição no arquivo do primeiro byte do buffer
+    private boolean eof;
+    private long completedOffset;
+
+    // Reservados para a mão corrente e reaproveitados entre mãos
+    private final String[] names = new String[HandHistoryWriter.MAX_SEATS];
+    private final int[] chips = new int[HandHistoryWriter.MAX_SEATS];
+    private final int[] cards = new int[5];
+
+    public HandHistoryReader(Path file) throws IOException {
+        this(file, 0);
+    }
+
+    // Começa a ler a partir de offset, que deve ser 0 ou um valor devolvido por getCompletedOffset
+    public HandHistoryReader(Path file, long offset) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Lê o cabeçalho inteiro
+        }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != HandHistoryWriter.MAGIC) {
+            channel.close();
+            throw new IOException("Arquivo de histórico inválido: " + file);
+        }
+        version = header.get();
+        if (version < 1 || version > HandHistoryWriter.VERSION) {
+            channel.close();
+            throw new IOException("Versão de histórico desconhecida (" + version + "): " + file);
+        }
+        long start = Math.max(offset, HEADER_BYTES);
+        channel.position(start);
+        bufferStart = start;
+        completedOffset = start;
+        buffer.limit(0);
+    }
+
+    // Reproduz as mãos até o fim do arquivo e retorna quantas foram concluídas
+    public long replay(HandHistoryVisitor visitor) throws IOException {
+        long hands = 0;
+        while (true) {
+            fill();
+            if (!buffer.hasRemaining()) {
+                return hands;
+            }
+            try {
+                if (readEvent(visitor)) {
+                    hands++;
+                    completedOffset = bufferStart + buffer.position();
+                }
+            } catch (BufferUnderflowException e) {
+                return hands; // Evento cortado no fim do arquivo
+            }
+        }
+    }
+
+    // Posição logo após a última mão completa lida; permite retomar a leitura depois
+    public long getCompletedOffset() {
+        return completedOffset;
+    }
+
+    // Lê um evento; retorna true se ele encerrou uma mão
+    private boolean readEvent(HandHistoryVisitor visitor) {
+        byte type = buffer.get();
+        switch (type) {
+            case HandHistoryWriter.HAND_START: {
+                long handNumber = getVarLong();
+                GameVariant variant = version >= 3 ? readVariant() : GameVariant.HOLDEM;
+                int dealer = getVarInt();
+                int seats = getVarInt();
+                String[] seatNames = seats == names.length ? names : new String[seats];
+                int[] seatChips = seats == chips.length ? chips : new int[seats];
+                for (int s = 0; s < seats; s++) {
+                    byte[] name = new byte[getVarInt()];
+                    buffer.get(name);
+                    seatNames[s] = new String(name, StandardCharsets.UTF_8);
+                    seatChips[s] = getVarInt();
+                }
+                visitor.handStarted(handNumber, variant, dealer, seatNames, seatChips);
+                return false;
+            }
+            case HandHistoryWriter.HOLE_CARDS: {
+                int seat = getVarInt();
+                int count = readCards();
+                visitor.holeCards(seat, cards, count);
+                return false;
+            }
+            case HandHistoryWriter.BOARD:
+                visitor.board(cards, readCards());
+                return false;
+            case HandHistoryWriter.CHECK:
+            case HandHistoryWriter.FOLD:
+                visitor.action(getVarInt(), type, 0);
+                return false;
+            case HandHistoryWriter.BET: {
+                int seat = getVarInt();
+                visitor.action(seat, type, getVarInt());
+                return false;
+            }
+            case HandHistoryWriter.POST: {
+                int seat = getVarInt();
+                int amount = getVarInt();
+                visitor.post(seat, amount, buffer.get() == HandHistoryWriter.POST_ANTE);
+                return false;
+            }
+            case HandHistoryWriter.PAYOUT: {
+                int seat = getVarInt();
+                visitor.payout(seat, getVarInt());
+                return false;
+            }
+            case HandHistoryWriter.HAND_END:
+                visitor.handFinished();
+                return true;
+            default:
+                throw new IllegalStateException("Evento desconhecido " + type + " na posição "
+                        + (bufferStart + buffer.position() - 1));
+        }
+    }
+
+    private GameVariant readVariant() {
+        int ordinal = buffer.get();
+        if (ordinal < 0 || ordinal >= GameVariant.values().length) {
+            throw new IllegalStateException("Variante desconhecida " + ordinal + " na posição "
+                    + (bufferStart + buffer.position() - 1));
+        }
+        return GameVariant.values()[ordinal];
+    }
+
+    private int readCards() {
+        int count = getVarInt();
+        if (count > cards.length) {
+            throw new IllegalStateException("Quantidade de cartas inválida: " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            cards[i] = buffer.get();
+        }
+        return count;
+    }
+
+    // Mantém pelo menos MAX_EVENT_BYTES no buffer enquanto houver dados no arquivo
+    private void fill() throws IOException {
+        if (eof || buffer.remaining() >= HandHistoryWriter.MAX_EVENT_BYTES) {
+            return;
+        }
+        bufferStart += buffer.position();
+        buffer.compact();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                eof = true;
+                break;
+            }
+        }
+        buffer.flip();
+    }
+
+    private int getVarInt() {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private long getVarLong() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
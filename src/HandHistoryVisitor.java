@@ -0,0 +1,32 @@
+// Recebe os eventos lidos por HandHistoryReader; todos os métodos são opcionais.
+// Cartas chegam na codificação inteira (Card.of converte para o objeto)
+public interface HandHistoryVisitor {
+    default void handStarted(long handNumber, int dealer, String[] names, int[] chips) {
+    }
+
+    // Início da mão com a variante (Hold'em em arquivos anteriores à versão 3); por padrão
+    // repassa para a versão sem variante
+    default void handStarted(long handNumber, GameVariant variant, int dealer, String[] names, int[] chips) {
+        handStarted(handNumber, dealer, names, chips);
+    }
+
+    default void holeCards(int seat, int[] cards, int count) {
+    }
+
+    default void board(int[] cards, int count) {
+    }
+
+    // Blind ou ante colocado antes das cartas próprias (ausente em arquivos da versão 1)
+    default void post(int seat, int amount, boolean ante) {
+    }
+
+    // type é HandHistoryWriter.CHECK, FOLD ou BET; amount só vale para BET
+    default void action(int seat, byte type, int amount) {
+    }
+
+    default void payout(int seat, int amount) {
+    }
+
+    default void handFinished() {
+    }
+}
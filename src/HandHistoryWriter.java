@@ -0,0 +1,225 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Grava o histórico das mãos de uma mesa como um fluxo binário de eventos, só por acréscimo.
+// Cabeçalho do arquivo: "PKHH" + versão. Cada evento é um byte de tipo seguido de varints:
+//   HAND_START  número da mão (o da mesa), variante (byte, GameVariant), dealer, assentos, e por
+//               assento: nome (tamanho + UTF-8) e fichas
+//   HOLE_CARDS  assento, quantidade, cartas     BOARD   quantidade, cartas
+//   CHECK/FOLD  assento                          BET     assento, valor
+//   PAYOUT      assento, valor                   HAND_END
+//   POST        assento, valor, tipo (0 = blind, 1 = ante)
+// Os eventos são acumulados num buffer e escritos no canal em lotes. Versão 2 acrescenta POST e a
+// 3 a variante no HAND_START; o leitor aceita as anteriores (sempre Hold'em), e o escritor só
+// acrescenta a arquivos da versão atual
+public class HandHistoryWriter implements GameListener, AutoCloseable {
+    static final int MAGIC = 0x504B4848; // "PKHH"
+    static final byte VERSION = 3;
+
+    static final byte HAND_START = 1;
+    static final byte HOLE_CARDS = 2;
+    static final byte BOARD = 3;
+    static final byte CHECK = 4;
+    static final byte FOLD = 5;
+    static final byte BET = 6;
+    static final byte PAYOUT = 7;
+    static final byte HAND_END = 8;
+    static final byte POST = 9;
+
+    static final int POST_BLIND = 0;
+    static final int POST_ANTE = 1;
+
+    static final int MAX_SEATS = 32;
+    static final int MAX_NAME_BYTES = 255;
+    // Maior evento possível (HAND_START com todos os assentos), usado também pelo leitor
+    static final int MAX_EVENT_BYTES = 1 + 10 + 1 + 5 + 5 + MAX_SEATS * (2 + MAX_NAME_BYTES + 5);
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final Map<String, byte[]> encodedNames = new HashMap<>();
+    private long handsWritten;
+
+    public HandHistoryWriter(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            buffer.putInt(MAGIC).put(VERSION);
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(5);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Lê o cabeçalho inteiro
+            }
+            header.flip();
+            if (header.remaining() < 5 || header.getInt() != MAGIC || header.get() != VERSION) {
+                channel.close();
+                throw new IOException("Histórico existente com formato ou versão diferente: " + file);
+            }
+        }
+    }
+
+    @Override
+    public void onStateChanged(PokerGame game) {
+    }
+
+    @Override
+    public void onWinner(Player winner) {
+    }
+
+    @Override
+    public void onHandStarted(PokerGame game) {
+        List<Player> players = game.getPlayers();
+        if (players.size() > MAX_SEATS) {
+            throw new IllegalStateException("Histórico suporta no máximo " + MAX_SEATS + " assentos");
+        }
+        begin(HAND_START);
+        putVarLong(game.getHandNumber());
+        buffer.put((byte) game.getVariant().ordinal());
+        putVarInt(game.getDealerIndex());
+        putVarInt(players.size());
+        for (Player player : players) {
+            byte[] name = encodedNames.computeIfAbsent(player.getName(), HandHistoryWriter::encodeName);
+            putVarInt(name.length);
+            buffer.put(name);
+            putVarInt(player.getChips());
+        }
+    }
+
+    @Override
+    public void onPost(PokerGame game, int seat, int amount, boolean ante) {
+        begin(POST);
+        putVarInt(seat);
+        putVarInt(amount);
+        buffer.put((byte) (ante ? POST_ANTE : POST_BLIND));
+    }
+
+    @Override
+    public void onCardsDealt(PokerGame game, int phase) {
+        if (phase == 0) {
+            List<Player> players = game.getPlayers();
+            for (int seat = 0; seat < players.size(); seat++) {
+                List<Card> hand = players.get(seat).getHand();
+                begin(HOLE_CARDS);
+                putVarInt(seat);
+                putVarInt(hand.size());
+                for (int i = 0; i < hand.size(); i++) {
+                    buffer.put((byte) hand.get(i).getIndex());
+                }
+            }
+            return;
+        }
+        // Apenas as cartas abertas nesta fase: 3 no flop, 1 no turn e no river
+        List<Card> board = game.getCommunityCards();
+        int count = phase == 1 ? 3 : 1;
+        begin(BOARD);
+        putVarInt(count);
+        for (int i = board.size() - count; i < board.size(); i++) {
+            buffer.put((byte) board.get(i).getIndex());
+        }
+    }
+
+    @Override
+    public void onAction(PokerGame game, int seat, Action action) {
+        switch (action.getType()) {
+            case FOLD:
+                begin(FOLD);
+                putVarInt(seat);
+                break;
+            case BET:
+                begin(BET);
+                putVarInt(seat);
+                putVarInt(action.getAmount());
+                break;
+            default:
+                begin(CHECK);
+                putVarInt(seat);
+                break;
+        }
+    }
+
+    @Override
+    public void onHandFinished(PokerGame game) {
+        for (int seat = 0; seat < game.getPlayers().size(); seat++) {
+            int payout = game.getPayout(seat);
+            if (payout > 0) {
+                begin(PAYOUT);
+                putVarInt(seat);
+                putVarInt(payout);
+            }
+        }
+        begin(HAND_END);
+        handsWritten++;
+    }
+
+    // Esvazia o buffer no arquivo
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.force(false);
+        channel.close();
+    }
+
+    public long getHandsWritten() {
+        return handsWritten;
+    }
+
+    // Garante espaço para o maior evento possível antes de começar a escrevê-lo
+    private void begin(byte type) {
+        if (buffer.remaining() < MAX_EVENT_BYTES) {
+            flush();
+        }
+        buffer.put(type);
+    }
+
+    private void putVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static byte[] encodeName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_BYTES) {
+            return bytes;
+        }
+        // Corta sem partir um caractere UTF-8 ao meio
+        int length = MAX_NAME_BYTES;
+        while ((bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+}
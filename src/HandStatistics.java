@@ -0,0 +1,181 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Acumuladores de estatísticas por jogador (identificado pelo nome), guardados num único
+// long[] com um bloco de contadores por jogador. Também é o HandHistoryVisitor que os preenche
+public class HandStatistics implements HandHistoryVisitor {
+    static final int HANDS = 0;
+    static final int VPIP = 1;          // colocou fichas voluntariamente no pré-flop
+    static final int PFR = 2;           // aumentou no pré-flop
+    static final int AGGRESSIVE = 3;    // apostas e aumentos em qualquer fase
+    static final int PASSIVE = 4;       // pagamentos (aposta que só iguala a maior)
+    static final int SHOWDOWNS = 5;
+    static final int SHOWDOWN_WINS = 6;
+    static final int NET_CHIPS = 7;
+    private static final int COUNTERS = 8;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private long[] counters = new long[COUNTERS * 16];
+
+    // Estado da mão sendo lida, por assento
+    private final int[] seatIds = new int[HandHistoryWriter.MAX_SEATS];
+    private final long[] contributed = new long[HandHistoryWriter.MAX_SEATS];
+    private final long[] roundContribution = new long[HandHistoryWriter.MAX_SEATS];
+    private final boolean[] folded = new boolean[HandHistoryWriter.MAX_SEATS];
+    private final boolean[] voluntary = new boolean[HandHistoryWriter.MAX_SEATS];
+    private final boolean[] raisedPreflop = new boolean[HandHistoryWriter.MAX_SEATS];
+    private final long[] payouts = new long[HandHistoryWriter.MAX_SEATS];
+    private int seats;
+    private int street;
+    private long roundMax;
+
+    @Override
+    public void handStarted(long handNumber, int dealer, String[] seatNames, int[] chips) {
+        seats = seatNames.length;
+        street = 0;
+        roundMax = 0;
+        for (int s = 0; s < seats; s++) {
+            seatIds[s] = idOf(seatNames[s]);
+            contributed[s] = 0;
+            roundContribution[s] = 0;
+            folded[s] = false;
+            voluntary[s] = false;
+            raisedPreflop[s] = false;
+            payouts[s] = 0;
+        }
+    }
+
+    // Blinds e antes contam nas fichas colocadas; só o blind entra na aposta da volta do pré-flop,
+    // para que pagar o big blind seja um pagamento e não um aumento. Nenhum dos dois é voluntário
+    @Override
+    public void post(int seat, int amount, boolean ante) {
+        contributed[seat] += amount;
+        if (!ante) {
+            roundContribution[seat] += amount;
+            roundMax = Math.max(roundMax, roundContribution[seat]);
+        }
+    }
+
+    @Override
+    public void board(int[] cards, int count) {
+        street++;
+        roundMax = 0;
+        for (int s = 0; s < seats; s++) {
+            roundContribution[s] = 0;
+        }
+    }
+
+    @Override
+    public void action(int seat, byte type, int amount) {
+        if (type == HandHistoryWriter.FOLD) {
+            folded[seat] = true;
+            return;
+        }
+        if (type != HandHistoryWriter.BET) {
+            return;
+        }
+        contributed[seat] += amount;
+        roundContribution[seat] += amount;
+        int base = seatIds[seat] * COUNTERS;
+        // Aposta que passa a maior contribuição da fase é agressiva; a que só iguala é um pagamento
+        if (roundContribution[seat] > roundMax) {
+            roundMax = roundContribution[seat];
+            counters[base + AGGRESSIVE]++;
+            if (street == 0) {
+                raisedPreflop[seat] = true;
+            }
+        } else {
+            counters[base + PASSIVE]++;
+        }
+        if (street == 0) {
+            voluntary[seat] = true;
+        }
+    }
+
+    @Override
+    public void payout(int seat, int amount) {
+        payouts[seat] += amount;
+    }
+
+    @Override
+    public void handFinished() {
+        int remaining = 0;
+        for (int s = 0; s < seats; s++) {
+            if (!folded[s]) {
+                remaining++;
+            }
+        }
+        for (int s = 0; s < seats; s++) {
+            int base = seatIds[s] * COUNTERS;
+            counters[base + HANDS]++;
+            if (voluntary[s]) {
+                counters[base + VPIP]++;
+            }
+            if (raisedPreflop[s]) {
+                counters[base + PFR]++;
+            }
+            if (remaining > 1 && !folded[s]) {
+                counters[base + SHOWDOWNS]++;
+                if (payouts[s] > 0) {
+                    counters[base + SHOWDOWN_WINS]++;
+                }
+            }
+            counters[base + NET_CHIPS] += payouts[s] - contributed[s];
+        }
+    }
+
+    // Soma as estatísticas de outro acumulador neste
+    public HandStatistics merge(HandStatistics other) {
+        for (int id = 0; id < other.names.size(); id++) {
+            int base = idOf(other.names.get(id)) * COUNTERS;
+            for (int c = 0; c < COUNTERS; c++) {
+                counters[base + c] += other.counters[id * COUNTERS + c];
+            }
+        }
+        return this;
+    }
+
+    private int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+            if (counters.length < names.size() * COUNTERS) {
+                counters = Arrays.copyOf(counters, counters.length * 2);
+            }
+        }
+        return id;
+    }
+
+    public List<String> getPlayerNames() {
+        return names;
+    }
+
+    // Valor bruto de um contador (HANDS, VPIP, ...) do jogador, 0 se ele não aparece
+    public long get(String player, int counter) {
+        Integer id = ids.get(player);
+        return id == null ? 0 : counters[id * COUNTERS + counter];
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder(String.format("%-20s %10s %7s %7s %7s %8s %12s%n",
+                "jogador", "mãos", "VPIP", "PFR", "AF", "W$SD", "fichas"));
+        for (int id = 0; id < names.size(); id++) {
+            int base = id * COUNTERS;
+            double hands = Math.max(1, counters[base + HANDS]);
+            sb.append(String.format("%-20s %10d %6.1f%% %6.1f%% %7.2f %7.1f%% %12d%n", names.get(id),
+                    counters[base + HANDS],
+                    100 * counters[base + VPIP] / hands,
+                    100 * counters[base + PFR] / hands,
+                    counters[base + AGGRESSIVE] / (double) Math.max(1, counters[base + PASSIVE]),
+                    100 * counters[base + SHOWDOWN_WINS] / (double) Math.max(1, counters[base + SHOWDOWNS]),
+                    counters[base + NET_CHIPS]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,100 @@
+// Estado incremental da mão de um jogador: a cada carta recebida (própria ou comunitária)
+// atualiza em O(1) as máscaras de naipe e de contagem de valores, de modo que a melhor
+// combinação fica disponível a qualquer momento sem reavaliar todas as cartas. No Omaha a mão
+// precisa de exatamente 2 cartas próprias, então a força é calculada das cartas próprias e da mesa
+public class HandTracker {
+    private static final int RANK_BITS = 0x1FFF;
+
+    private GameVariant variant = GameVariant.HOLDEM;
+    private long mask;
+    private long holeMask;
+    private final int[] suitCounts = new int[4];
+    private int flushSuit = -1;
+    // Valores presentes pelo menos 1, 2, 3 e 4 vezes
+    private int any;
+    private int atLeastTwo;
+    private int atLeastThree;
+    private int quads;
+    private int strength = -1;
+
+    public void add(Card card) {
+        add(card.getIndex());
+    }
+
+    // Carta própria do jogador (as demais são da mesa)
+    public void addHole(Card card) {
+        holeMask |= card.getMask();
+        add(card.getIndex());
+    }
+
+    public void add(int cardIndex) {
+        long bit = Card.mask(cardIndex);
+        if ((mask & bit) != 0) {
+            return; // Carta já contada
+        }
+        mask |= bit;
+
+        int suit = cardIndex / 13;
+        int rankBit = 1 << (cardIndex % 13);
+        if (++suitCounts[suit] == 5) {
+            flushSuit = suit;
+        }
+        if ((any & rankBit) == 0) {
+            any |= rankBit;
+        } else if ((atLeastTwo & rankBit) == 0) {
+            atLeastTwo |= rankBit;
+        } else if ((atLeastThree & rankBit) == 0) {
+            atLeastThree |= rankBit;
+        } else {
+            quads |= rankBit;
+        }
+        strength = -1;
+    }
+
+    public void reset() {
+        mask = 0L;
+        holeMask = 0L;
+        suitCounts[0] = suitCounts[1] = suitCounts[2] = suitCounts[3] = 0;
+        flushSuit = -1;
+        any = atLeastTwo = atLeastThree = quads = 0;
+        strength = -1;
+    }
+
+    // Variante usada em getStrength; vale para as próximas avaliações
+    public void setVariant(GameVariant variant) {
+        this.variant = variant;
+        strength = -1;
+    }
+
+    // Força da melhor mão com as cartas vistas até agora (comparável com variant.evaluate)
+    public int getStrength() {
+        if (strength < 0) {
+            if (variant.isOmaha()) {
+                strength = OmahaEvaluator.evaluateDirect(holeMask, mask & ~holeMask);
+                return strength;
+            }
+            int flushRanks = flushSuit < 0 ? 0
+                    : (int) (mask >>> (flushSuit * Card.MASK_SUIT_SHIFT)) & RANK_BITS;
+            strength = variant == GameVariant.SHORT_DECK
+                    ? HandEvaluator.evaluateShortDeck(flushRanks, any, atLeastTwo, atLeastThree, quads)
+                    : HandEvaluator.evaluate(flushRanks, any, atLeastTwo, atLeastThree, quads);
+        }
+        return strength;
+    }
+
+    public int getCategory() {
+        return HandEvaluator.category(getStrength());
+    }
+
+    public String getHandName() {
+        return variant.describe(getStrength());
+    }
+
+    public int getCardCount() {
+        return Long.bitCount(mask);
+    }
+
+    public long getMask() {
+        return mask;
+    }
+}
@@ -0,0 +1,53 @@
+import java.util.List;
+
+// Mesa sem interface gráfica: joga mãos completas consultando uma Strategy por assento
+public class HeadlessTable {
+    private final PokerGame game;
+    private final Strategy[] strategies;
+    private long handsPlayed;
+    private boolean rebuy;
+
+    public HeadlessTable(PokerGame game, List<Strategy> strategies) {
+        if (strategies.size() != game.getPlayers().size()) {
+            throw new IllegalArgumentException("É preciso uma estratégia por jogador");
+        }
+        this.game = game;
+        this.strategies = strategies.toArray(new Strategy[0]);
+    }
+
+    // Joga uma mão do início ao fim: cada jogador da vez age pela sua estratégia (ajustada para a
+    // jogada válida mais próxima) e as voltas encerradas abrem as fases seguintes até o showdown
+    public Player playHand() {
+        if (rebuy && game.getFundedPlayerCount() < 2) {
+            game.restartGame();
+        }
+        game.startNewHand();
+        game.dealNextCards();
+        while (!game.isHandOver()) {
+            game.act(strategies[game.getCurrentPlayerIndex()].decide(game, game.getCurrentPlayer()));
+        }
+        handsPlayed++;
+        return game.getWinner();
+    }
+
+    // Sem recompra, para antes se sobrar menos de dois jogadores com fichas
+    public void playHands(long hands) {
+        for (long i = 0; i < hands && (rebuy || game.getFundedPlayerCount() >= 2); i++) {
+            playHand();
+        }
+    }
+
+    // Com recompra, quando sobra um só jogador com fichas a mesa recomeça com as fichas iniciais
+    // (cargas e benchmarks que precisam de um número fixo de mãos)
+    public void setRebuy(boolean rebuy) {
+        this.rebuy = rebuy;
+    }
+
+    public PokerGame getGame() {
+        return game;
+    }
+
+    public long getHandsPlayed() {
+        return handsPlayed;
+    }
+}
@@ -0,0 +1,55 @@
+// Modelo de Malmuth-Harville (ICM): a chance de um jogador terminar em 1º é proporcional às suas
+// fichas, e o mesmo vale para as posições seguintes entre quem sobrou. Calculado por programação
+// dinâmica sobre os subconjuntos de jogadores já colocados: O(2^n * n), adequado a uma mesa final
+public final class Icm {
+    // Limite prático: 2^20 estados
+    static final int MAX_PLAYERS = 20;
+
+    private Icm() {
+    }
+
+    // Valor esperado de cada jogador dados os stacks e os prêmios por posição (prizes[0] = 1º lugar)
+    public static double[] equities(int[] stacks, double[] prizes) {
+        int n = stacks.length;
+        if (n > MAX_PLAYERS) {
+            throw new IllegalArgumentException("ICM limitado a " + MAX_PLAYERS + " jogadores");
+        }
+        long total = 0;
+        for (int stack : stacks) {
+            total += stack;
+        }
+        double[] equity = new double[n];
+        if (total == 0) {
+            return equity;
+        }
+        // placed[mask]: probabilidade de os jogadores de mask ocuparem as primeiras posições
+        double[] placed = new double[1 << n];
+        long[] chipsPlaced = new long[1 << n];
+        placed[0] = 1.0;
+        for (int mask = 0; mask < (1 << n); mask++) {
+            double probability = placed[mask];
+            int position = Integer.bitCount(mask);
+            if (probability == 0 || position >= n) {
+                continue;
+            }
+            long remaining = total - chipsPlaced[mask];
+            double prize = position < prizes.length ? prizes[position] : 0.0;
+            for (int i = 0; i < n; i++) {
+                int bit = 1 << i;
+                if ((mask & bit) != 0) {
+                    continue;
+                }
+                // Sem fichas entre os que sobraram, todos ficam com a mesma chance
+                double chance = remaining > 0 ? (double) stacks[i] / remaining : 1.0 / (n - position);
+                if (chance == 0) {
+                    continue;
+                }
+                double next = probability * chance;
+                equity[i] += next * prize;
+                placed[mask | bit] += next;
+                chipsPlaced[mask | bit] = chipsPlaced[mask] + stacks[i];
+            }
+        }
+        return equity;
+    }
+}
@@ -0,0 +1,61 @@
+import java.util.random.RandomGenerator;
+
+// Baralho para simulações: cartas como inteiros de 0 a 51 num int[], sem alocação por rodada
+public class IntDeck {
+    private final int[] cards = new int[Card.DECK_SIZE];
+    private int size;
+    private int cursor;
+
+    public IntDeck() {
+        reset(0L);
+    }
+
+    // Recoloca todas as cartas no baralho, exceto as presentes na máscara de cartas mortas
+    public void reset(long deadMask) {
+        size = 0;
+        for (int index = 0; index < Card.DECK_SIZE; index++) {
+            if ((deadMask & Card.mask(index)) == 0) {
+                cards[size++] = index;
+            }
+        }
+        cursor = 0;
+    }
+
+    // Embaralhamento Fisher-Yates no próprio array, apenas das cartas ainda não retiradas
+    public void shuffleDeck(RandomGenerator random) {
+        for (int i = size - 1; i > cursor; i--) {
+            int j = cursor + random.nextInt(i - cursor + 1);
+            int tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
+        }
+    }
+
+    // Retira uma carta aleatória entre as restantes (um passo do Fisher-Yates),
+    // útil quando só algumas cartas são necessárias por rodada
+    public int drawRandomCard(RandomGenerator random) {
+        int j = cursor + random.nextInt(size - cursor);
+        int card = cards[j];
+        cards[j] = cards[cursor];
+        cards[cursor++] = card;
+        return card;
+    }
+
+    // Volta o cursor ao início sem reordenar, para reaproveitar o baralho em outra rodada
+    public void rewind() {
+        cursor = 0;
+    }
+
+    // Retira a próxima carta avançando o cursor
+    public int drawCard() {
+        return cards[cursor++];
+    }
+
+    public boolean isEmpty() {
+        return cursor >= size;
+    }
+
+    public int size() {
+        return size - cursor;
+    }
+}
@@ -0,0 +1,201 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// k-means (Lloyd) sobre pontos densos num float[] (n pontos x dims). Início por k-means++ numa
+// amostra; a cada iteração a atribuição e as somas parciais dos centróides são calculadas em
+// paralelo por faixas de pontos e combinadas no fim
+public class KMeans {
+    // Pontos por tarefa antes de dividir
+    private static final int LEAF_POINTS = 4096;
+    // Amostra usada pelo k-means++
+    private static final int SEED_SAMPLE = 20_000;
+
+    private final float[] points;
+    private final int dims;
+    private final int count;
+    private final int k;
+    private final float[] centroids;
+    private final int[] assignments;
+    private int iterations;
+    private double inertia;
+
+    public KMeans(float[] points, int dims, int k) {
+        if (dims <= 0 || points.length % dims != 0) {
+            throw new IllegalArgumentException("Tamanho dos pontos incompatível com a dimensão " + dims);
+        }
+        this.points = points;
+        this.dims = dims;
+        this.count = points.length / dims;
+        this.k = Math.min(k, count);
+        this.centroids = new float[this.k * dims];
+        this.assignments = new int[count];
+    }
+
+    // Roda até maxIterations ou até menos de 0,1% dos pontos trocarem de grupo
+    public void run(int maxIterations, long seed, ForkJoinPool pool) {
+        seedCentroids(new SplittableRandom(seed));
+        Arrays.fill(assignments, -1);
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        for (iterations = 1; iterations <= maxIterations; iterations++) {
+            Partial partial = pool.invoke(new AssignTask(0, count));
+            inertia = partial.inertia;
+            for (int c = 0; c < k; c++) {
+                if (partial.counts[c] == 0) {
+                    // Grupo vazio: recomeça num ponto qualquer
+                    System.arraycopy(points, random.nextInt(count) * dims, centroids, c * dims, dims);
+                    continue;
+                }
+                for (int d = 0; d < dims; d++) {
+                    centroids[c * dims + d] = (float) (partial.sums[c * dims + d] / partial.counts[c]);
+                }
+            }
+            if (partial.changed <= count / 1000) {
+                break;
+            }
+        }
+        iterations = Math.min(iterations, maxIterations);
+        // Atribuição final contra os centróides já atualizados
+        inertia = pool.invoke(new AssignTask(0, count)).inertia;
+    }
+
+    // k-means++: cada novo centróide é sorteado com probabilidade proporcional à distância
+    // ao quadrado até o centróide mais próximo já escolhido
+    private void seedCentroids(SplittableRandom random) {
+        int sampleSize = Math.min(count, SEED_SAMPLE);
+        int[] sample = new int[sampleSize];
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = sampleSize == count ? i : random.nextInt(count);
+        }
+        double[] nearest = new double[sampleSize];
+        Arrays.fill(nearest, Double.MAX_VALUE);
+        System.arraycopy(points, sample[random.nextInt(sampleSize)] * dims, centroids, 0, dims);
+        for (int c = 1; c < k; c++) {
+            double total = 0;
+            for (int i = 0; i < sampleSize; i++) {
+                nearest[i] = Math.min(nearest[i], distance(points, sample[i] * dims, centroids, (c - 1) * dims));
+                total += nearest[i];
+            }
+            double target = random.nextDouble() * total;
+            int chosen = sample[sampleSize - 1];
+            for (int i = 0; i < sampleSize; i++) {
+                target -= nearest[i];
+                if (target <= 0) {
+                    chosen = sample[i];
+                    break;
+                }
+            }
+            System.arraycopy(points, chosen * dims, centroids, c * dims, dims);
+        }
+    }
+
+    private double distance(float[] a, int aOffset, float[] b, int bOffset) {
+        double sum = 0;
+        for (int d = 0; d < dims; d++) {
+            double diff = a[aOffset + d] - b[bOffset + d];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    // Centróide mais próximo do ponto (de qualquer array com a mesma dimensão)
+    public int nearest(float[] source, int offset) {
+        int best = 0;
+        double bestDistance = Double.MAX_VALUE;
+        for (int c = 0; c < k; c++) {
+            double d = distance(source, offset, centroids, c * dims);
+            if (d < bestDistance) {
+                bestDistance = d;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private static final class Partial {
+        final double[] sums;
+        final long[] counts;
+        double inertia;
+        long changed;
+
+        Partial(int k, int dims) {
+            sums = new double[k * dims];
+            counts = new long[k];
+        }
+
+        void add(Partial other) {
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += other.sums[i];
+            }
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            inertia += other.inertia;
+            changed += other.changed;
+        }
+    }
+
+    private final class AssignTask extends RecursiveTask<Partial> {
+        private final int from;
+        private final int to;
+
+        AssignTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= LEAF_POINTS) {
+                Partial partial = new Partial(k, dims);
+                for (int p = from; p < to; p++) {
+                    int offset = p * dims;
+                    int cluster = nearest(points, offset);
+                    partial.inertia += distance(points, offset, centroids, cluster * dims);
+                    if (assignments[p] != cluster) {
+                        assignments[p] = cluster;
+                        partial.changed++;
+                    }
+                    partial.counts[cluster]++;
+                    for (int d = 0; d < dims; d++) {
+                        partial.sums[cluster * dims + d] += points[offset + d];
+                    }
+                }
+                return partial;
+            }
+            int middle = (from + to) >>> 1;
+            AssignTask left = new AssignTask(from, middle);
+            left.fork();
+            Partial right = new AssignTask(middle, to).compute();
+            Partial partial = left.join();
+            partial.add(right);
+            return partial;
+        }
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getDims() {
+        return dims;
+    }
+
+    public float[] getCentroids() {
+        return centroids;
+    }
+
+    public int[] getAssignments() {
+        return assignments;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    // Soma das distâncias ao quadrado de cada ponto ao seu centróide, na última iteração
+    public double getInertia() {
+        return inertia;
+    }
+}
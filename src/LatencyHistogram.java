@@ -0,0 +1,108 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Histograma de latências em nanossegundos com baldes log-lineares (estilo HDR): cada potência de
+// 2 é dividida em SUB_BUCKETS baldes, o que dá erro relativo de no máximo 1/SUB_BUCKETS. As
+// gravações se espalham por um número fixo de faixas (o dobro dos núcleos, arredondado para
+// potência de 2), escolhidas pelo hash da thread: threads diferentes raramente dividem faixa, e a
+// memória não cresce com o número de threads (threads virtuais, pools que se renovam). A leitura
+// soma as faixas e pode não ver as gravações mais recentes, o que é aceitável para métricas
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    // Posição BUCKETS de cada faixa guarda a soma das latências, para a média; o passo é múltiplo
+    // de 8 longs (uma linha de cache) para duas faixas não dividirem linha
+    private static final int STRIDE = (BUCKETS + 1 + 7) & ~7;
+    private static final int STRIPES = Math.min(64,
+            Integer.highestOneBit(Math.max(1, 2 * Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    private final String name;
+    private final AtomicLongArray stripes = new AtomicLongArray(STRIPES * STRIDE);
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nanos) {
+        int base = stripeOf(Thread.currentThread()) * STRIDE;
+        stripes.getAndIncrement(base + bucketOf(Math.max(0, nanos)));
+        stripes.getAndAdd(base + BUCKETS, nanos);
+    }
+
+    private static int stripeOf(Thread thread) {
+        int hash = System.identityHashCode(thread);
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // value >>> exponent fica entre SUB_BUCKETS e 2 * SUB_BUCKETS - 1
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> exponent) & (SUB_BUCKETS - 1);
+        return (exponent + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Limite superior (aproximado) dos valores que caem no balde
+    static long valueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << exponent) - 1;
+    }
+
+    // Soma das faixas; a última posição é a soma das latências
+    public long[] snapshot() {
+        long[] total = new long[BUCKETS + 1];
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            int base = stripe * STRIDE;
+            for (int i = 0; i <= BUCKETS; i++) {
+                total[i] += stripes.get(base + i);
+            }
+        }
+        return total;
+    }
+
+    public void reset() {
+        for (int i = 0; i < stripes.length(); i++) {
+            stripes.set(i, 0L);
+        }
+    }
+
+    public static long count(long[] snapshot) {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += snapshot[i];
+        }
+        return count;
+    }
+
+    // Percentil (0 a 100) a partir de um snapshot
+    public static long percentile(long[] snapshot, double percentile) {
+        long count = count(snapshot);
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(BUCKETS - 1);
+    }
+
+    public static double mean(long[] snapshot) {
+        long count = count(snapshot);
+        return count == 0 ? 0.0 : (double) snapshot[BUCKETS] / count;
+    }
+}
@@ -0,0 +1,136 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+// Cliente de carga: cada cliente abre uma mesa e joga mãos sem parar, medindo a latência de cada
+// comando. Sem porta, usa um TableServer no mesmo processo sem passar pelo socket
+public class LoadGenerator {
+    private static final int PLAYERS_PER_TABLE = 6;
+
+    // Resultado de um cliente: mãos concluídas, comandos e maior latência. As latências vão para um
+    // histograma compartilhado (um array por thread), com memória fixa qualquer que seja a duração
+    private static final class ClientStats {
+        final LatencyHistogram latencies;
+        long hands;
+        long count;
+        long max;
+
+        ClientStats(LatencyHistogram latencies) {
+            this.latencies = latencies;
+        }
+
+        void record(long nanos) {
+            latencies.record(nanos);
+            count++;
+            max = Math.max(max, nanos);
+        }
+    }
+
+    private static ClientStats runClient(UnaryOperator<String> transport, long deadline, long seed,
+            LatencyHistogram latencies) {
+        ClientStats stats = new ClientStats(latencies);
+        SplittableRandom random = new SplittableRandom(seed);
+        String table = transport.apply("OPEN " + PLAYERS_PER_TABLE + " 1000000").substring(3);
+        while (System.nanoTime() < deadline) {
+            String reply = timed(transport, "DEAL " + table, stats);
+            if (reply.contains(" OVER ")) {
+                stats.hands++;
+                continue;
+            }
+            for (int i = 0; i < PLAYERS_PER_TABLE && !reply.contains(" OVER "); i++) {
+                double roll = random.nextDouble();
+                String command = roll < 0.05 ? "FOLD " + table : roll < 0.15 ? "BET " + table + " 10" : "CALL " + table;
+                reply = timed(transport, command, stats);
+            }
+            if (reply.contains(" OVER ")) {
+                stats.hands++;
+            }
+        }
+        transport.apply("QUIT");
+        return stats;
+    }
+
+    private static String timed(UnaryOperator<String> transport, String command, ClientStats stats) {
+        long start = System.nanoTime();
+        String reply = transport.apply(command);
+        stats.record(System.nanoTime() - start);
+        return reply;
+    }
+
+    private static UnaryOperator<String> socketTransport(int port) throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        return command -> {
+            out.println(command);
+            if (command.equals("QUIT")) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return "";
+            }
+            try {
+                return in.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    // Uso: java -cp bin LoadGenerator [clientes] [segundos] [porta]
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Integer port = args.length > 2 ? Integer.valueOf(args[2]) : null;
+        TableServer inProcess = port == null ? new TableServer(new TableManager(), 0) : null;
+
+        ExecutorService executor = TableServer.newConnectionExecutor();
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        LatencyHistogram latencies = new LatencyHistogram("loadgen.command");
+        List<Future<ClientStats>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            long seed = c;
+            UnaryOperator<String> transport = port == null ? inProcess::execute : socketTransport(port);
+            futures.add(executor.submit(() -> runClient(transport, deadline, seed, latencies)));
+        }
+
+        long hands = 0;
+        long total = 0;
+        long max = 0;
+        for (Future<ClientStats> future : futures) {
+            ClientStats stats = future.get();
+            hands += stats.hands;
+            total += stats.count;
+            max = Math.max(max, stats.max);
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+        if (inProcess != null) {
+            inProcess.close();
+        }
+
+        long[] snapshot = latencies.snapshot();
+        System.out.printf("%d clientes, %s%n", clients, port == null ? "no mesmo processo" : "porta " + port);
+        System.out.printf("%d mãos em %.1f s: %.0f mãos/s, %.0f ações/s%n", hands, elapsed, hands / elapsed, total / elapsed);
+        if (total > 0) {
+            System.out.printf("latência p50 %.1f µs, p99 %.1f µs, máx %.1f µs%n",
+                    LatencyHistogram.percentile(snapshot, 50) / 1e3, LatencyHistogram.percentile(snapshot, 99) / 1e3,
+                    max / 1e3);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Registro central de contadores e histogramas de latência dos caminhos quentes. Pode ser
+// desligado com -Dpoker.metrics=false; como ENABLED é final, o JIT remove as medições
+public final class Metrics {
+    public static final boolean ENABLED = !"false".equals(System.getProperty("poker.metrics"));
+
+    private static final ConcurrentMap<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    // Pontos instrumentados
+    public static final LatencyHistogram DEAL_NEXT_CARDS = histogram("PokerGame.dealNextCards");
+    public static final LatencyHistogram DETERMINE_WINNER = histogram("PokerGame.determineWinner");
+    public static final LatencyHistogram EVALUATE_WINNER = histogram("HandEvaluator.evaluateWinner");
+    public static final LatencyHistogram SHUFFLE_DECK = histogram("Deck.shuffleDeck");
+    public static final LatencyHistogram UPDATE_UI = histogram("PokerGameGUI.updateUI");
+    public static final LongAdder HANDS_FINISHED = counter("PokerGame.handsFinished");
+    public static final LongAdder SHOWDOWNS = counter("PokerGame.showdowns");
+    public static final LongAdder BOT_ERRORS = counter("PokerGame.botErrors");
+    public static final LatencyHistogram BOT_DECISION = histogram("RolloutStrategy.decide");
+    public static final LongAdder BOT_ROLLOUTS = counter("RolloutStrategy.rollouts");
+    public static final LongAdder BOT_TIMEOUTS = counter("RolloutStrategy.timeouts");
+    public static final LongAdder BOT_DEGRADED = counter("RolloutStrategy.degraded");
+
+    private static ScheduledExecutorService dumper;
+
+    private Metrics() {
+    }
+
+    public static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    public static LatencyHistogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    // Início de uma medição; 0 quando as métricas estão desligadas
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(LatencyHistogram histogram, long start) {
+        if (ENABLED) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    public static void increment(LongAdder counter) {
+        if (ENABLED) {
+            counter.increment();
+        }
+    }
+
+    static Map<String, LongAdder> counters() {
+        return COUNTERS;
+    }
+
+    static Map<String, LatencyHistogram> histograms() {
+        return HISTOGRAMS;
+    }
+
+    public static void reset() {
+        COUNTERS.values().forEach(LongAdder::reset);
+        HISTOGRAMS.values().forEach(LatencyHistogram::reset);
+    }
+
+    // Relatório em texto: contadores e, por histograma, contagem, média, p50, p99 e p99.9 em µs
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        new TreeMap<>(COUNTERS).forEach((name, counter) ->
+                sb.append(String.format("%-32s %12d%n", name, counter.sum())));
+        sb.append(String.format("%-32s %12s %10s %10s %10s %10s%n", "latência (µs)", "n", "média", "p50", "p99", "p99.9"));
+        new TreeMap<>(HISTOGRAMS).forEach((name, histogram) -> {
+            long[] snapshot = histogram.snapshot();
+            sb.append(String.format("%-32s %12d %10.2f %10.2f %10.2f %10.2f%n", name,
+                    LatencyHistogram.count(snapshot), LatencyHistogram.mean(snapshot) / 1e3,
+                    LatencyHistogram.percentile(snapshot, 50) / 1e3, LatencyHistogram.percentile(snapshot, 99) / 1e3,
+                    LatencyHistogram.percentile(snapshot, 99.9) / 1e3));
+        });
+        return sb.toString();
+    }
+
+    // Imprime o relatório periodicamente numa thread daemon
+    public static synchronized void startPeriodicDump(long period, TimeUnit unit, PrintStream out) {
+        if (dumper == null) {
+            dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-dump");
+                thread.setDaemon(true);
+                return thread;
+            });
+            dumper.scheduleAtFixedRate(() -> out.print(dump()), period, period, unit);
+        }
+    }
+
+    public static synchronized void stopPeriodicDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+    }
+
+    // Registra o MXBean "PokerGame:type=Metrics" no servidor de plataforma (JConsole, VisualVM)
+    public static void registerMBean() {
+        try {
+            ObjectName name = new ObjectName("PokerGame:type=Metrics");
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMXBeanImpl(), name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar o MBean de métricas", e);
+        }
+    }
+
+    public interface MetricsMXBean {
+        Map<String, Long> getCounters();
+
+        Map<String, Long> getP50Nanos();
+
+        Map<String, Long> getP99Nanos();
+
+        Map<String, Long> getMaxNanos();
+
+        String getReport();
+
+        void reset();
+    }
+
+    private static final class MetricsMXBeanImpl implements MetricsMXBean {
+        @Override
+        public Map<String, Long> getCounters() {
+            Map<String, Long> values = new TreeMap<>();
+            COUNTERS.forEach((name, counter) -> values.put(name, counter.sum()));
+            return values;
+        }
+
+        @Override
+        public Map<String, Long> getP50Nanos() {
+            return percentiles(50);
+        }
+
+        @Override
+        public Map<String, Long> getP99Nanos() {
+            return percentiles(99);
+        }
+
+        @Override
+        public Map<String, Long> getMaxNanos() {
+            return percentiles(100);
+        }
+
+        @Override
+        public String getReport() {
+            return dump();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+
+        private Map<String, Long> percentiles(double percentile) {
+            Map<String, Long> values = new TreeMap<>();
+            HISTOGRAMS.forEach((name, histogram) ->
+                    values.put(name, LatencyHistogram.percentile(histogram.snapshot(), percentile)));
+            return values;
+        }
+    }
+}
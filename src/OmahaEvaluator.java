@@ -0,0 +1,181 @@
+import java.util.Arrays;
+
+// Omaha (PLO4 e PLO5): a mão vale sempre exatamente 2 cartas próprias e 3 da mesa. Avaliador de
+// uma mesa: setBoard prepara as trincas da mesa uma vez e evaluate é chamado para cada jogador.
+// Sem flush a força só depende dos valores, então o melhor resultado de cada par de valores
+// próprios contra as trincas é guardado até a próxima mesa e reaproveitado por qualquer par de
+// qualquer jogador com os mesmos valores. Flush só existe com 3+ cartas de um naipe na mesa e as
+// duas cartas próprias desse naipe, e só nesse caso as trincas do naipe são avaliadas.
+// Não é thread-safe: um avaliador por thread
+final class OmahaEvaluator implements GameVariant.Evaluator {
+    private static final int RANKS = 13;
+    private static final int MAX_TRIPLES = 10; // C(5, 3)
+
+    // Trincas de valores distintas da mesa, como máscaras de valores presentes 1, 2 e 3 vezes
+    private final int[] tripleAny = new int[MAX_TRIPLES];
+    private final int[] tripleTwo = new int[MAX_TRIPLES];
+    private final int[] tripleThree = new int[MAX_TRIPLES];
+    private int triples;
+    // Naipe com 3+ cartas na mesa (-1 se não houver) e as trincas de valores desse naipe
+    private final int[] flushTriples = new int[MAX_TRIPLES];
+    private int flushTripleCount;
+    private int flushSuit = -1;
+    // Melhor força sem flush por par de valores próprios (menor * 13 + maior); vale se o carimbo
+    // for o da mesa atual, assim trocar de mesa não precisa limpar a tabela
+    private final int[] pairBest = new int[RANKS * RANKS];
+    private final int[] pairStamp = new int[RANKS * RANKS];
+    private int stamp;
+    private final int[] boardRanks = new int[5];
+    private final int[] boardSuitRanks = new int[4];
+    private final int[] holeRanks = new int[8];
+    private final int[] holeSuits = new int[8];
+
+    @Override
+    public void setBoard(long board) {
+        if (++stamp == 0) {
+            Arrays.fill(pairStamp, 0);
+            stamp = 1;
+        }
+        int[] ranks = boardRanks;
+        int[] suitRanks = boardSuitRanks;
+        Arrays.fill(suitRanks, 0);
+        int count = 0;
+        for (long rest = board; rest != 0 && count < ranks.length; rest &= rest - 1) {
+            int bit = Long.numberOfTrailingZeros(rest);
+            ranks[count] = bit & 15;
+            suitRanks[bit >>> 4] |= 1 << ranks[count];
+            count++;
+        }
+
+        triples = 0;
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                for (int k = j + 1; k < count; k++) {
+                    int any = 1 << ranks[i];
+                    int bit = 1 << ranks[j];
+                    int two = any & bit;
+                    any |= bit;
+                    bit = 1 << ranks[k];
+                    int three = two & bit;
+                    two |= any & bit;
+                    any |= bit;
+                    addTriple(any, two, three);
+                }
+            }
+        }
+
+        flushSuit = -1;
+        flushTripleCount = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            if (Integer.bitCount(suitRanks[suit]) >= 3) {
+                flushSuit = suit;
+                int suited = suitRanks[suit];
+                for (int a = suited; a != 0; a &= a - 1) {
+                    for (int b = a & (a - 1); b != 0; b &= b - 1) {
+                        for (int c = b & (b - 1); c != 0; c &= c - 1) {
+                            flushTriples[flushTripleCount++] = Integer.lowestOneBit(a) | Integer.lowestOneBit(b)
+                                    | Integer.lowestOneBit(c);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Mesas com valores repetidos geram trincas iguais; cada uma é avaliada uma vez só
+    private void addTriple(int any, int two, int three) {
+        for (int t = 0; t < triples; t++) {
+            if (tripleAny[t] == any && tripleTwo[t] == two && tripleThree[t] == three) {
+                return;
+            }
+        }
+        tripleAny[triples] = any;
+        tripleTwo[triples] = two;
+        tripleThree[triples] = three;
+        triples++;
+    }
+
+    // Melhor mão com 2 das cartas próprias e 3 da mesa; 0 com menos de 3 cartas na mesa
+    @Override
+    public int evaluate(long hole) {
+        if (triples == 0) {
+            return 0;
+        }
+        int count = 0;
+        for (long rest = hole; rest != 0 && count < holeRanks.length; rest &= rest - 1) {
+            int bit = Long.numberOfTrailingZeros(rest);
+            holeRanks[count] = bit & 15;
+            holeSuits[count] = bit >>> 4;
+            count++;
+        }
+        int best = 0;
+        for (int a = 0; a < count; a++) {
+            for (int b = a + 1; b < count; b++) {
+                int low = Math.min(holeRanks[a], holeRanks[b]);
+                int high = Math.max(holeRanks[a], holeRanks[b]);
+                int key = low * RANKS + high;
+                if (pairStamp[key] != stamp) {
+                    pairBest[key] = bestWithoutFlush(low, high);
+                    pairStamp[key] = stamp;
+                }
+                best = Math.max(best, pairBest[key]);
+                if (holeSuits[a] == flushSuit && holeSuits[b] == flushSuit) {
+                    best = Math.max(best, bestFlush((1 << low) | (1 << high)));
+                }
+            }
+        }
+        return best;
+    }
+
+    private int bestWithoutFlush(int low, int high) {
+        int best = 0;
+        for (int t = 0; t < triples; t++) {
+            int any = tripleAny[t];
+            int two = tripleTwo[t];
+            int three = tripleThree[t];
+            int quads = 0;
+            int bit = 1 << low;
+            quads |= three & bit;
+            three |= two & bit;
+            two |= any & bit;
+            any |= bit;
+            bit = 1 << high;
+            quads |= three & bit;
+            three |= two & bit;
+            two |= any & bit;
+            any |= bit;
+            best = Math.max(best, HandEvaluator.evaluate(0, any, two, three, quads));
+        }
+        return best;
+    }
+
+    // Par próprio do naipe de flush com cada trinca do naipe: 5 valores distintos, flush ou straight flush
+    private int bestFlush(int pairRanks) {
+        int best = 0;
+        for (int t = 0; t < flushTripleCount; t++) {
+            int ranks = pairRanks | flushTriples[t];
+            best = Math.max(best, HandEvaluator.evaluate(ranks, ranks, 0, 0, 0));
+        }
+        return best;
+    }
+
+    // Referência direta: todas as combinações de 2 cartas próprias com 3 da mesa pelo avaliador
+    // de 5 cartas, sem preparação por mesa (verificação e comparação nos benchmarks)
+    static int evaluateDirect(long hole, long board) {
+        int best = 0;
+        for (long a = hole; a != 0; a &= a - 1) {
+            for (long b = a & (a - 1); b != 0; b &= b - 1) {
+                long pair = Long.lowestOneBit(a) | Long.lowestOneBit(b);
+                for (long x = board; x != 0; x &= x - 1) {
+                    for (long y = x & (x - 1); y != 0; y &= y - 1) {
+                        for (long z = y & (y - 1); z != 0; z &= z - 1) {
+                            long five = pair | Long.lowestOneBit(x) | Long.lowestOneBit(y) | Long.lowestOneBit(z);
+                            best = Math.max(best, HandEvaluator.evaluateUncached(five));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
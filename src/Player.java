@@ -7,6 +7,9 @@ public class Player {
     private List<Card> hand;
     private int chips;
     private boolean hasFolded;
+    // Jogadores que não são humanos agem pela estratégia da mesa (PokerGame.setBotStrategy)
+    private boolean human = true;
+    private final HandTracker handTracker = new HandTracker();
 
     public Player(String name, int chips) {
         this.name = name;
@@ -47,13 +50,39 @@ public class Player {
         return this.hasFolded;
     }
 
+    public boolean isHuman() {
+        return human;
+    }
+
+    public void setHuman(boolean human) {
+        this.human = human;
+    }
+
     public void clearHand() {
         this.hand.clear();
+        this.handTracker.reset();
+    }
+
+    // Limpa a mão e a desistência para começar uma nova mão
+    public void resetForNewHand() {
+        this.hand.clear();
+        this.handTracker.reset();
+        this.hasFolded = false;
     }
 
     // Adiciona cartas à mão do jogador
     public void receiveCard(Card card) {
         this.hand.add(card);
+        this.handTracker.addHole(card);
+    }
+
+    // Cartas comunitárias entram só no estado incremental da mão, não na lista de cartas próprias
+    public void seeCommunityCard(Card card) {
+        this.handTracker.add(card);
+    }
+
+    public HandTracker getHandTracker() {
+        return handTracker;
     }
 
     public void resetChips(int initialChips) {
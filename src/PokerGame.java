@@ -1,45 +1,359 @@
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import jdk.jfr.EventType;
+
 public class PokerGame {
+    // Limites do cálculo de equity exibido a cada fase: para ao atingir ±0,5% (95%) ou 200 mil mesas
+    private static final long EQUITY_MAX_TRIALS = 200_000;
+    private static final double EQUITY_PRECISION = 0.005;
+    // Flags de GameListener.onChanged: o que mudou desde a última notificação
+    static final int CHANGED_CARDS = 1;   // cartas próprias, comunitárias ou desistências
+    static final int CHANGED_POT = 2;
+    static final int CHANGED_CHIPS = 4;
+    static final int CHANGED_TURN = 8;    // jogador da vez
+    static final int CHANGED_EQUITY = 16;
+    static final int CHANGED_ALL = 31;
+
+    // Assentos nas máscaras de bits da volta de apostas
+    static final int MAX_SEATS = 64;
+
+    private static final EventType HAND_EVENT_TYPE = EventType.getEventType(HandEvent.class);
+
     private List<Player> players;
     private Deck deck;
+    private GameVariant variant = GameVariant.HOLDEM;
+    // Showdown do Omaha: a mesa é preparada uma vez para todos os jogadores
+    private GameVariant.Evaluator showdownEvaluator;
+    // Embaralhamento de cada mão derivado de (semente, número da mão)
+    private ShuffleRandom shuffleRandom = ShuffleRandom.forNewTable();
+    private long handNumber;
     private List<Card> communityCards;
     private int dealerIndex;
     private int currentPlayerIndex;
-    private PokerGameGUI gameGUI;
-    // private int currentBet;
+    private final List<GameListener> listeners = new ArrayList<>();
     private int pot;
     private int currentPhase;
     private Player winner;
+    private boolean handOver;
+    private boolean equityTracking;
+    private final EquityCalculator equityCalculator = new EquityCalculator();
+    // Estado do acerto do pote, por assento, reaproveitado entre mãos
+    private PotSettlement settlement;
+    private int[] contributions;
+    private boolean[] folded;
+    private int[] strengths;
+    private int[] payouts;
+    private final Map<Player, Double> equities = new HashMap<>();
+    private EquityTable preflopTable;
+    private HandEvent handEvent;
+    private final int initialChips;
+    // Blinds e ante postados no início de cada mão (0 = sem blinds)
+    private int smallBlind;
+    private int bigBlind;
+    private int ante;
+    // Estratégia dos jogadores que não são humanos
+    private Strategy botStrategy;
+    private boolean botsActing;
+    // Volta de apostas no-limit. Máscaras de bits com um bit por assento: activeSeats = ainda na
+    // mão, actingSeats = na mão e com fichas (não all-in), pendingSeats = ainda precisam agir nesta
+    // volta (vazia = volta encerrada), actedSeats = agiram desde o último aumento completo e
+    // lockedSeats = só podem pagar ou desistir, depois de um all-in menor que o aumento mínimo
+    private long activeSeats;
+    private long actingSeats;
+    private long pendingSeats;
+    private long actedSeats;
+    private long lockedSeats;
+    private int currentBet;          // maior contribuição de um assento na fase atual
+    private int minRaise;            // tamanho do último aumento completo (no mínimo o big blind)
+    private int[] streetContributions;
+    private boolean advancing;
 
     public void restartGame() {
-        deck = new Deck(); // Recria e embaralha o baralho
-        deck.shuffleDeck();
+        handNumber++;
+        deck = newDeck(); // Recria e embaralha o baralho
         communityCards.clear(); // Limpa as cartas comunitárias
+        equities.clear();
         for (Player player : players) {
-            player.clearHand(); // Limpa a mão de cada jogador
-            player.resetChips(1000); // Redefine as fichas dos jogadores, se necessário
+            player.resetForNewHand(); // Limpa a mão e a desistência de cada jogador
+            player.resetChips(initialChips); // Redefine as fichas dos jogadores
         }
         dealerIndex = 0; // Pode modificar para escolher um novo dealer
         currentPlayerIndex = getNextPlayerIndex(dealerIndex);
         currentPhase = 0;
         pot = 0; // Limpa o pote
-        gameGUI.updateUI(); // Atualiza a interface do usuário
+        clearContributions();
+        resetSeats();
+        winner = null;
+        handOver = false;
+        notifyStateChanged(CHANGED_ALL); // Atualiza a interface do usuário, se houver
+    }
+
+    // Prepara uma nova mão mantendo as fichas: novo baralho, botão do dealer avança até o próximo
+    // jogador com fichas. Só entre mãos: abandonar uma mão em andamento perderia as fichas já no pote
+    public void startNewHand() {
+        if (currentPhase != 0 && !handOver) {
+            throw new IllegalStateException("A mão ainda está em andamento");
+        }
+        handNumber++;
+        deck = newDeck();
+        communityCards.clear();
+        equities.clear();
+        for (Player player : players) {
+            player.resetForNewHand();
+        }
+        dealerIndex = getNextFundedIndex(dealerIndex);
+        currentPlayerIndex = getNextFundedIndex(dealerIndex);
+        currentPhase = 0;
+        clearContributions();
+        resetSeats();
+        winner = null;
+        handOver = false;
+        notifyStateChanged(CHANGED_ALL);
     }
 
     public PokerGame(List<String> playerNames, int initialChips) {
+        checkPlayerCount(variant, playerNames.size());
+        this.initialChips = initialChips;
         players = new ArrayList<>();
         for (String name : playerNames) {
             players.add(new Player(name, initialChips));
         }
-        deck = new Deck();
+        deck = newDeck();
         communityCards = new ArrayList<>();
+        allocateSeats();
         dealerIndex = 0;
         currentPlayerIndex = getNextPlayerIndex(dealerIndex);
         currentPhase = 0;
-        deck.shuffleDeck();
+        resetSeats();
+    }
+
+    // Mesa com jogadores já existentes, mantendo as fichas de cada um (torneios)
+    public static PokerGame seated(List<Player> seatedPlayers) {
+        return seated(seatedPlayers, 0);
+    }
+
+    static PokerGame seated(List<Player> seatedPlayers, int initialChips) {
+        List<String> names = new ArrayList<>();
+        for (Player player : seatedPlayers) {
+            names.add(player.getName());
+        }
+        PokerGame game = new PokerGame(names, initialChips);
+        game.seatPlayers(seatedPlayers);
+        return game;
+    }
+
+    // Troca os jogadores sentados entre mãos (balanceamento de mesas); o botão fica na mesma posição
+    public void seatPlayers(List<Player> seatedPlayers) {
+        if (currentPhase != 0 && !handOver) {
+            throw new IllegalStateException("Não é possível trocar jogadores com a mão em andamento");
+        }
+        checkPlayerCount(variant, seatedPlayers.size());
+        boolean resized = seatedPlayers.size() != players.size();
+        players = new ArrayList<>(seatedPlayers);
+        if (resized) {
+            allocateSeats();
+        }
+        for (Player player : players) {
+            player.getHandTracker().setVariant(variant);
+        }
+        equities.clear();
+        dealerIndex %= players.size();
+        currentPlayerIndex = getNextPlayerIndex(dealerIndex);
+        resetSeats();
+    }
+
+    // Volta ao estado salvo por GameCheckpoint. Os jogadores já vêm com fichas, cartas próprias e
+    // desistência; aqui entram a mesa, o baralho restante e o estado da mão
+    void restoreState(long handNumber, ShuffleRandom shuffleRandom, Deck deck, List<Card> board, int dealerIndex,
+            int currentPlayerIndex, int currentPhase, int pot, int[] contributions, boolean handOver, int winnerSeat) {
+        this.handNumber = handNumber;
+        this.shuffleRandom = shuffleRandom;
+        this.deck = deck;
+        communityCards.clear();
+        for (Card card : board) {
+            communityCards.add(card);
+            for (Player player : players) {
+                player.seeCommunityCard(card);
+            }
+        }
+        this.dealerIndex = dealerIndex;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.currentPhase = currentPhase;
+        this.pot = pot;
+        System.arraycopy(contributions, 0, this.contributions, 0, players.size());
+        Arrays.fill(payouts, 0);
+        this.handOver = handOver;
+        this.winner = winnerSeat >= 0 ? players.get(winnerSeat) : null;
+        equities.clear();
+        resetSeats();
+        Arrays.fill(streetContributions, 0);
+        currentBet = 0;
+        minRaise = Math.max(1, bigBlind);
+        // Sem o estado da volta salvo: todos que podem apostar agem de novo
+        if (currentPhase > 0 && !handOver) {
+            pendingSeats = actingSeats;
+            settleRound();
+            if (pendingSeats != 0 && (pendingSeats & (1L << currentPlayerIndex)) == 0) {
+                this.currentPlayerIndex = nextSeat(pendingSeats, currentPlayerIndex);
+            }
+        }
+    }
+
+    // Estado da volta de apostas salvo por GameCheckpoint (depois de restoreState)
+    void restoreBetting(int currentBet, int minRaise, int[] streetContributions, long pendingSeats, long actedSeats,
+            long lockedSeats) {
+        this.currentBet = currentBet;
+        this.minRaise = minRaise;
+        System.arraycopy(streetContributions, 0, this.streetContributions, 0, players.size());
+        this.pendingSeats = pendingSeats & actingSeats;
+        this.actedSeats = actedSeats;
+        this.lockedSeats = lockedSeats;
+    }
+
+    private void allocateSeats() {
+        if (players.size() > MAX_SEATS) {
+            throw new IllegalArgumentException("A mesa comporta no máximo " + MAX_SEATS + " jogadores");
+        }
+        streetContributions = new int[players.size()];
+        settlement = new PotSettlement(players.size());
+        contributions = new int[players.size()];
+        folded = new boolean[players.size()];
+        strengths = new int[players.size()];
+        payouts = new int[players.size()];
+    }
+
+    // Blinds e ante a partir da próxima mão; vale também no meio de uma sessão (níveis de torneio)
+    public void setBlinds(int smallBlind, int bigBlind, int ante) {
+        if (smallBlind < 0 || bigBlind < smallBlind || ante < 0) {
+            throw new IllegalArgumentException("Blinds inválidos: " + smallBlind + "/" + bigBlind + " ante " + ante);
+        }
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.ante = ante;
+    }
+
+    public int getSmallBlind() {
+        return smallBlind;
+    }
+
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
+    public int getAnte() {
+        return ante;
+    }
+
+    // Fichas de cada jogador em restartGame
+    public int getInitialChips() {
+        return initialChips;
+    }
+
+    // Baralho da mão atual (checkpoints)
+    Deck getDeck() {
+        return deck;
+    }
+
+    // Ante de todos, small blind à esquerda do botão e big blind em seguida (no heads-up o botão
+    // paga o small blind); quem não tem fichas suficientes coloca o que tem. A ação do pré-flop
+    // começa à esquerda do big blind; retorna o assento depois do qual a ação começa
+    private int postBlinds() {
+        if (ante > 0) {
+            for (int s = 0; s < players.size(); s++) {
+                post(s, ante, true);
+            }
+        }
+        if (bigBlind > 0) {
+            int smallBlindSeat = Long.bitCount(activeSeats) == 2 ? dealerIndex : getNextFundedIndex(dealerIndex);
+            int bigBlindSeat = getNextFundedIndex(smallBlindSeat);
+            post(smallBlindSeat, smallBlind, false);
+            post(bigBlindSeat, bigBlind, false);
+            // O ante é dinheiro morto; só os blinds contam como aposta da volta do pré-flop
+            streetContributions[smallBlindSeat] = contributions[smallBlindSeat] - Math.min(ante, contributions[smallBlindSeat]);
+            streetContributions[bigBlindSeat] = contributions[bigBlindSeat] - Math.min(ante, contributions[bigBlindSeat]);
+            return bigBlindSeat;
+        }
+        return dealerIndex;
+    }
+
+    private void post(int seat, int amount, boolean isAnte) {
+        Player player = players.get(seat);
+        int posted = Math.min(amount, player.getChips());
+        if (posted == 0) {
+            return;
+        }
+        player.bet(posted);
+        contributions[seat] += posted;
+        addToPot(posted);
+        if (player.getChips() == 0) {
+            actingSeats &= ~(1L << seat);
+        }
+        for (GameListener listener : listeners) {
+            listener.onPost(this, seat, posted, isAnte);
+        }
+    }
+
+    private Deck newDeck() {
+        return new Deck(variant, shuffleRandom.forHand(handNumber));
+    }
+
+    // Troca a variante (Hold'em, Omaha, short deck) antes de a mão começar; vale para o baralho,
+    // as cartas de cada jogador e a avaliação do showdown
+    public void setVariant(GameVariant variant) {
+        if (currentPhase != 0 && !handOver) {
+            throw new IllegalStateException("Não é possível trocar a variante com a mão em andamento");
+        }
+        checkPlayerCount(variant, players.size());
+        restoreVariant(variant);
+        equities.clear();
+        if (currentPhase == 0) {
+            deck = newDeck();
+        }
+    }
+
+    public GameVariant getVariant() {
+        return variant;
+    }
+
+    // Mesas com mais jogadores do que o baralho da variante comporta esvaziariam o baralho no meio da mão
+    private static void checkPlayerCount(GameVariant variant, int players) {
+        if (players == 0) {
+            throw new IllegalArgumentException("A mesa precisa de pelo menos um jogador");
+        }
+        if (players > variant.getMaxPlayers()) {
+            throw new IllegalArgumentException(variant + " comporta no máximo " + variant.getMaxPlayers() + " jogadores");
+        }
+    }
+
+    // Variante salva por GameCheckpoint, aplicada à mão restaurada (sem refazer o baralho)
+    void restoreVariant(GameVariant variant) {
+        this.variant = variant;
+        showdownEvaluator = variant.isOmaha() ? variant.newEvaluator() : null;
+        for (Player player : players) {
+            player.getHandTracker().setVariant(variant);
+        }
+    }
+
+    // Troca a fonte de aleatoriedade; o baralho da mão atual é refeito se nenhuma carta saiu ainda
+    public void setShuffleRandom(ShuffleRandom shuffleRandom) {
+        this.shuffleRandom = shuffleRandom;
+        if (currentPhase == 0) {
+            deck = newDeck();
+        }
+    }
+
+    public ShuffleRandom getShuffleRandom() {
+        return shuffleRandom;
+    }
+
+    // Número da mão atual; com a semente de getShuffleRandom() reproduz o baralho da mão
+    public long getHandNumber() {
+        return handNumber;
     }
 
     public void startGame() {
@@ -47,56 +361,508 @@ public class PokerGame {
         dealNextCards();
     }
 
+    // Passa a vez para o próximo assento que ainda precisa agir (ou, com a volta encerrada, para o
+    // próximo ainda na mão): O(1) pela máscara de assentos, sem percorrer quem desistiu
     public void nextPlayer() {
-        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-        while (players.get(currentPlayerIndex).hasFolded()) {
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        long seats = pendingSeats != 0 ? pendingSeats : activeSeats;
+        if (seats != 0) {
+            currentPlayerIndex = nextSeat(seats, currentPlayerIndex);
         }
     }
 
+    // Primeiro assento da máscara depois de after, dando a volta na mesa
+    private static int nextSeat(long seats, int after) {
+        long later = seats & (-2L << after);
+        return Long.numberOfTrailingZeros(later != 0 ? later : seats);
+    }
+
+    // Abre a próxima fase. As ações abrem a fase seguinte sozinhas quando a volta de apostas se
+    // encerra; chamar aqui com a volta em aberto força o avanço (botão Deal, comando DEAL)
+    // Abre a próxima fase da mão; depois do fim da mão (desistência ou showdown) só startNewHand
+    // começa outra, então nenhuma carta sai numa mão encerrada
     public void dealNextCards() {
+        if (handOver && currentPhase > 0) {
+            throw new IllegalStateException("A mão terminou; comece a próxima mão");
+        }
+        long start = Metrics.start();
+        int dealtPhase = currentPhase;
+        int after = dealerIndex;
         switch (currentPhase) {
             case 0: // Pré-flop
+                if (getFundedPlayerCount() < 2) {
+                    throw new IllegalStateException("São necessários dois jogadores com fichas");
+                }
+                if (HAND_EVENT_TYPE.isEnabled()) {
+                    handEvent = new HandEvent();
+                    handEvent.begin();
+                }
+                for (GameListener listener : listeners) {
+                    listener.onHandStarted(this);
+                }
+                // Quem está sem fichas fica de fora da mão: conta como desistente, não recebe cartas
+                // nem paga blinds
                 for (Player player : players) {
-                    player.receiveCard(deck.drawCard());
-                    player.receiveCard(deck.drawCard());
+                    if (player.getChips() == 0) {
+                        player.fold();
+                    }
+                }
+                resetSeats();
+                Arrays.fill(streetContributions, 0);
+                after = postBlinds();
+                for (Player player : players) {
+                    if (player.hasFolded()) {
+                        continue; // sem fichas, fora da mão
+                    }
+                    for (int c = 0; c < variant.getHoleCards(); c++) {
+                        player.receiveCard(deck.drawCard());
+                    }
                 }
                 currentPhase = 1;
                 break;
             case 1: // Flop
-                communityCards.add(deck.drawCard());
-                communityCards.add(deck.drawCard());
-                communityCards.add(deck.drawCard());
+                dealCommunityCard();
+                dealCommunityCard();
+                dealCommunityCard();
                 currentPhase = 2;
                 break;
             case 2: // Turn
-                communityCards.add(deck.drawCard());
+                dealCommunityCard();
                 currentPhase = 3;
                 break;
             case 3: // River
-                communityCards.add(deck.drawCard());
+                dealCommunityCard();
                 currentPhase = 4; // Próximo estado seria a avaliação do vencedor
                 break;
             case 4: // Showdown
                 determineWinner();
                 break;
         }
-        nextPlayer();
-        gameGUI.updateUI();
+        if (dealtPhase < 4) {
+            for (GameListener listener : listeners) {
+                listener.onCardsDealt(this, dealtPhase);
+            }
+            startBettingRound(dealtPhase == 0, after);
+        }
+        int changes = CHANGED_CARDS | CHANGED_TURN;
+        if (dealtPhase == 0) {
+            changes |= CHANGED_POT | CHANGED_CHIPS; // blinds e ante
+        }
+        if (equityTracking) {
+            updateEquities();
+            changes |= CHANGED_EQUITY;
+        }
+        notifyStateChanged(handOver ? changes | CHANGED_POT | CHANGED_CHIPS : changes);
+        Metrics.stop(Metrics.DEAL_NEXT_CARDS, start);
+        advanceIfRoundOver();
+        playBots();
+    }
+
+    // Abre uma carta comunitária e atualiza o estado incremental da mão de cada jogador
+    private void dealCommunityCard() {
+        Card card = deck.drawCard();
+        communityCards.add(card);
+        for (Player player : players) {
+            player.seeCommunityCard(card);
+        }
+    }
+
+    // Todos os assentos voltam à mão; quem está sem fichas não pode apostar
+    private void resetSeats() {
+        activeSeats = 0;
+        actingSeats = 0;
+        for (int s = 0; s < players.size(); s++) {
+            Player player = players.get(s);
+            if (!player.hasFolded()) {
+                activeSeats |= 1L << s;
+                if (player.getChips() > 0) {
+                    actingSeats |= 1L << s;
+                }
+            }
+        }
+        pendingSeats = 0;
+        actedSeats = 0;
+        lockedSeats = 0;
+    }
+
+    // Nova volta: no pré-flop a aposta a pagar é o big blind; depois do flop começa do zero.
+    // A ação começa no primeiro assento que pode apostar depois de after
+    private void startBettingRound(boolean preflop, int after) {
+        if (!preflop) {
+            Arrays.fill(streetContributions, 0);
+        }
+        currentBet = 0;
+        for (int contribution : streetContributions) {
+            currentBet = Math.max(currentBet, contribution);
+        }
+        minRaise = Math.max(1, bigBlind);
+        actedSeats = 0;
+        lockedSeats = 0;
+        pendingSeats = actingSeats;
+        settleRound();
+        if (pendingSeats != 0) {
+            currentPlayerIndex = nextSeat(pendingSeats, after);
+        }
+    }
+
+    // Só quem ainda pode apostar fica pendente; com no máximo um assento nessa condição a volta
+    // acaba assim que ele não dever nada (os demais estão all-in ou fora da mão)
+    private void settleRound() {
+        pendingSeats &= actingSeats;
+        if (Long.bitCount(actingSeats) <= 1
+                && (pendingSeats == 0 || streetContributions[Long.numberOfTrailingZeros(pendingSeats)] >= currentBet)) {
+            pendingSeats = 0;
+        }
+    }
+
+    // Depois de uma ação: a vez passa ao próximo pendente depois de quem agiu
+    private void endTurn(int seat) {
+        settleRound();
+        if (pendingSeats != 0) {
+            currentPlayerIndex = nextSeat(pendingSeats, seat);
+        }
+    }
+
+    // Volta encerrada: abre a próxima fase ou vai ao showdown; se ninguém mais puder apostar, as
+    // fases seguintes são abertas direto até o showdown
+    private void advanceIfRoundOver() {
+        if (advancing) {
+            return;
+        }
+        advancing = true;
+        try {
+            while (!handOver && currentPhase > 0 && pendingSeats == 0) {
+                dealNextCards();
+            }
+        } finally {
+            advancing = false;
+        }
+    }
+
+    private int requireTurn() {
+        if (currentPhase == 0 || handOver) {
+            throw new IllegalStateException("Não há mão em andamento");
+        }
+        if (pendingSeats == 0) {
+            throw new IllegalStateException("A volta de apostas está encerrada");
+        }
+        return currentPlayerIndex;
+    }
+
+    // O jogador da vez desiste; se sobrar apenas um jogador, ele leva o pote
+    public void fold() {
+        int seat = requireTurn();
+        long bit = 1L << seat;
+        getCurrentPlayer().fold();
+        activeSeats &= ~bit;
+        actingSeats &= ~bit;
+        pendingSeats &= ~bit;
+        lockedSeats &= ~bit;
+        notifyAction(seat, Action.fold());
+        if (Long.bitCount(activeSeats) == 1) {
+            awardPot(players.get(Long.numberOfTrailingZeros(activeSeats)));
+        } else {
+            endTurn(seat);
+        }
+        notifyStateChanged(handOver ? CHANGED_CARDS | CHANGED_TURN | CHANGED_POT | CHANGED_CHIPS
+                : CHANGED_CARDS | CHANGED_TURN);
+        advanceIfRoundOver();
+        playBots();
+    }
+
+    // O jogador da vez passa sem apostar; só é possível se não houver aposta a pagar
+    public void check() {
+        int seat = requireTurn();
+        if (getToCall() > 0) {
+            throw new IllegalStateException("Não é possível passar: há " + getToCall() + " fichas para pagar");
+        }
+        long bit = 1L << seat;
+        pendingSeats &= ~bit;
+        actedSeats |= bit;
+        lockedSeats &= ~bit;
+        notifyAction(seat, Action.check());
+        endTurn(seat);
+        notifyStateChanged(CHANGED_TURN);
+        advanceIfRoundOver();
+        playBots();
+    }
+
+    // O jogador da vez paga a aposta atual (ou o que tiver, all-in); sem aposta a pagar, passa
+    public void call() {
+        int toCall = Math.min(getToCall(), getCurrentPlayer().getChips());
+        if (toCall == 0) {
+            check();
+        } else {
+            bet(toCall);
+        }
+    }
+
+    // O jogador da vez coloca amount fichas no pote nesta ação: o valor para pagar (call), o valor
+    // para pagar mais pelo menos o aumento mínimo (aposta ou aumento) ou todas as fichas (all-in,
+    // que vale mesmo abaixo desses valores). Um aumento completo reabre a ação para todos; um all-in
+    // menor que o aumento mínimo obriga os outros a responder, mas quem já tinha agido só pode
+    // pagar ou desistir
+    public void bet(int amount) {
+        int seat = requireTurn();
+        if (amount == 0) {
+            check();
+            return;
+        }
+        Player player = getCurrentPlayer();
+        if (amount < 0 || amount > player.getChips()) {
+            throw new IllegalArgumentException("Aposta inválida: " + amount + " (fichas: " + player.getChips() + ")");
+        }
+        long bit = 1L << seat;
+        boolean allIn = amount == player.getChips();
+        int total = streetContributions[seat] + amount;
+        if (total < currentBet && !allIn) {
+            throw new IllegalArgumentException("A aposta de " + amount + " não cobre as " + getToCall() + " fichas para pagar");
+        }
+        if (total > currentBet) {
+            int raise = total - currentBet;
+            if (raise < minRaise && !allIn) {
+                throw new IllegalArgumentException("O aumento mínimo é de " + minRaise + " fichas (colocar "
+                        + (getToCall() + minRaise) + ")");
+            }
+            if ((lockedSeats & bit) != 0) {
+                throw new IllegalStateException("Depois de um all-in incompleto só é possível pagar ou desistir");
+            }
+            if (raise >= minRaise) {
+                minRaise = raise;
+                actedSeats = 0;
+                lockedSeats = 0;
+            } else {
+                lockedSeats = actedSeats & actingSeats & ~bit;
+            }
+            currentBet = total;
+            pendingSeats = actingSeats;
+        }
+        player.bet(amount);
+        contributions[seat] += amount;
+        streetContributions[seat] += amount;
+        addToPot(amount);
+        if (player.getChips() == 0) {
+            actingSeats &= ~bit;
+        }
+        pendingSeats &= ~bit;
+        actedSeats |= bit;
+        lockedSeats &= ~bit;
+        notifyAction(seat, Action.bet(amount));
+        endTurn(seat);
+        notifyStateChanged(CHANGED_POT | CHANGED_CHIPS | CHANGED_TURN);
+        advanceIfRoundOver();
+        playBots();
+    }
+
+    // Aplica a ação de uma estratégia ajustada para a jogada válida mais próxima: passar diante de
+    // aposta vira pagar, aposta que não cobre o valor para pagar vira pagar, aumento abaixo do
+    // mínimo sobe para o mínimo (ou all-in) e quem não pode aumentar paga
+    public void act(Action action) {
+        requireTurn();
+        Player player = getCurrentPlayer();
+        int toCall = getToCall();
+        switch (action.getType()) {
+            case FOLD:
+                fold();
+                break;
+            case BET:
+                int amount = Math.min(action.getAmount(), player.getChips());
+                if (amount <= toCall || (lockedSeats & (1L << currentPlayerIndex)) != 0) {
+                    call();
+                } else {
+                    bet(Math.min(Math.max(amount, toCall + minRaise), player.getChips()));
+                }
+                break;
+            default:
+                call();
+                break;
+        }
+    }
+
+    // Estratégia consultada na vez de cada jogador que não é humano (null = ninguém age sozinho)
+    public void setBotStrategy(Strategy strategy) {
+        this.botStrategy = strategy;
+    }
+
+    public Strategy getBotStrategy() {
+        return botStrategy;
     }
 
+    // Os jogadores que não são humanos agem em sequência até chegar a vez de um humano ou a mão
+    // terminar (as voltas encerradas abrem as fases seguintes sozinhas); as ações deles não
+    // reentram aqui. Uma estratégia com erro não trava a mesa: o jogador passa ou paga
+    private void playBots() {
+        if (botStrategy == null || botsActing) {
+            return;
+        }
+        botsActing = true;
+        try {
+            while (!handOver && currentPhase > 0 && pendingSeats != 0 && !getCurrentPlayer().isHuman()) {
+                Action action;
+                try {
+                    action = botStrategy.decide(this, getCurrentPlayer());
+                } catch (RuntimeException e) {
+                    Metrics.increment(Metrics.BOT_ERRORS);
+                    action = Action.check();
+                }
+                act(action);
+            }
+        } finally {
+            botsActing = false;
+        }
+    }
+
+    // A força de cada mão já está pronta no HandTracker (no Omaha, o avaliador prepara a mesa uma
+    // vez e avalia quem não desistiu); PotSettlement monta os potes laterais a partir das
+    // contribuições e reparte empates. O vencedor anunciado é quem recebe mais fichas
     private void determineWinner() {
-        HandEvaluator evaluator = new HandEvaluator();
-        winner = evaluator.evaluateWinner(players, communityCards);
-        winner.addChips(pot);
+        long start = Metrics.start();
+        int seats = players.size();
+        int deadMoney = pot;
+        if (showdownEvaluator != null) {
+            showdownEvaluator.setBoard(Card.toMask(communityCards));
+        }
+        for (int s = 0; s < seats; s++) {
+            Player player = players.get(s);
+            folded[s] = player.hasFolded();
+            if (showdownEvaluator == null) {
+                strengths[s] = player.getHandTracker().getStrength();
+            } else {
+                strengths[s] = folded[s] ? 0 : showdownEvaluator.evaluate(Card.toMask(player.getHand()));
+            }
+            deadMoney -= contributions[s];
+        }
+        settlement.settle(seats, contributions, folded, strengths, deadMoney, getNextPlayerIndex(dealerIndex), payouts);
+
+        int best = -1;
+        for (int s = 0; s < seats; s++) {
+            players.get(s).addChips(payouts[s]);
+            if (payouts[s] > 0 && (best < 0 || payouts[s] > payouts[best])) {
+                best = s;
+            }
+        }
+        int potSize = pot;
         pot = 0;
-        gameGUI.showWinner(winner);
+        Metrics.increment(Metrics.SHOWDOWNS);
+        Metrics.stop(Metrics.DETERMINE_WINNER, start);
+        finishHand(best < 0 ? null : players.get(best), potSize);
+    }
+
+    // Último jogador restante leva o pote inteiro, sem showdown
+    private void awardPot(Player player) {
+        int seat = players.indexOf(player);
+        Arrays.fill(payouts, 0);
+        payouts[seat] = pot;
+        player.addChips(pot);
+        int potSize = pot;
+        pot = 0;
+        finishHand(player, potSize);
+    }
+
+    private void finishHand(Player handWinner, int potSize) {
+        winner = handWinner;
+        handOver = true;
+        pendingSeats = 0;
+        Metrics.increment(Metrics.HANDS_FINISHED);
+        if (handEvent != null) {
+            handEvent.players = players.size();
+            handEvent.pot = potSize;
+            handEvent.phase = currentPhase;
+            handEvent.winner = handWinner == null ? null : handWinner.getName();
+            handEvent.commit();
+            handEvent = null;
+        }
+        for (GameListener listener : listeners) {
+            listener.onHandFinished(this);
+        }
+        for (GameListener listener : listeners) {
+            listener.onWinner(winner);
+        }
+    }
+
+    private void clearContributions() {
+        Arrays.fill(contributions, 0);
+        Arrays.fill(payouts, 0);
+    }
+
+    private void notifyAction(int seat, Action action) {
+        for (GameListener listener : listeners) {
+            listener.onAction(this, seat, action);
+        }
+    }
+
+    private void notifyStateChanged(int changes) {
+        for (GameListener listener : listeners) {
+            listener.onChanged(this, changes);
+        }
+    }
+
+    // Recalcula a equity dos jogadores ainda na mão após o pré-flop, o flop e o turn;
+    // as cartas de quem já desistiu entram como cartas mortas. Só no Hold'em: EquityCalculator e
+    // EquityTable avaliam mãos de 2 cartas com o baralho completo
+    private void updateEquities() {
+        equities.clear();
+        if (currentPhase < 1 || currentPhase > 3 || variant != GameVariant.HOLDEM) {
+            return;
+        }
+        List<Player> active = new ArrayList<>();
+        List<List<Card>> hands = new ArrayList<>();
+        List<Card> deadCards = new ArrayList<>();
+        for (Player player : players) {
+            if (player.hasFolded()) {
+                deadCards.addAll(player.getHand());
+            } else {
+                active.add(player);
+                hands.add(player.getHand());
+            }
+        }
+        if (active.size() < 2) {
+            return;
+        }
+        // Com a tabela pré-calculada, o pré-flop é uma consulta O(1) por jogador (equity contra
+        // adversários aleatórios, sem considerar as cartas conhecidas dos outros)
+        if (currentPhase == 1 && preflopTable != null && active.size() - 1 <= EquityTable.MAX_OPPONENTS) {
+            for (Player player : active) {
+                List<Card> hand = player.getHand();
+                equities.put(player, (double) preflopTable.preflopEquity(hand.get(0), hand.get(1), active.size() - 1));
+            }
+            return;
+        }
+        // No flop e no turn restam poucas mesas, então a enumeração exata é barata
+        EquityResult result = currentPhase == 1
+                ? equityCalculator.monteCarlo(hands, communityCards, deadCards,
+                        EQUITY_MAX_TRIALS, EQUITY_PRECISION, System.nanoTime())
+                : equityCalculator.exact(hands, communityCards, deadCards);
+        for (int i = 0; i < active.size(); i++) {
+            equities.put(active.get(i), result.getEquity(i));
+        }
     }
 
     private int getNextPlayerIndex(int currentIndex) {
         return (currentIndex + 1) % players.size();
     }
 
+    // Próximo assento com fichas (botão e blinds pulam quem está fora); sem nenhum, o seguinte
+    private int getNextFundedIndex(int currentIndex) {
+        for (int i = 1; i <= players.size(); i++) {
+            int seat = (currentIndex + i) % players.size();
+            if (players.get(seat).getChips() > 0) {
+                return seat;
+            }
+        }
+        return getNextPlayerIndex(currentIndex);
+    }
+
+    // Jogadores que ainda têm fichas para jogar a próxima mão
+    public int getFundedPlayerCount() {
+        int funded = 0;
+        for (Player player : players) {
+            if (player.getChips() > 0) {
+                funded++;
+            }
+        }
+        return funded;
+    }
+
     public List<Player> getPlayers() {
         return players;
     }
@@ -118,7 +884,103 @@ public class PokerGame {
     }
 
     public void setGameGUI(PokerGameGUI gui) {
-        this.gameGUI = gui;
+        addListener(gui);
+    }
+
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Liga ou desliga o cálculo de equity a cada fase (usado pela GUI; caro demais para simulações)
+    public void setEquityTracking(boolean enabled) {
+        this.equityTracking = enabled;
+        if (!enabled) {
+            equities.clear();
+        }
+    }
+
+    // Tabela de equity pré-flop (EquityTable) usada no lugar da simulação, se informada
+    public void setPreflopTable(EquityTable table) {
+        if (table != null && !table.isPreflop()) {
+            throw new IllegalArgumentException("A tabela informada não é de pré-flop");
+        }
+        this.preflopTable = table;
+    }
+
+    // A mão terminou, por showdown ou porque restou um único jogador
+    public boolean isHandOver() {
+        return handOver;
+    }
+
+    public Player getWinner() {
+        return winner;
+    }
+
+    // Fichas recebidas por assento no acerto da última mão
+    public int getPayout(int seat) {
+        return payouts[seat];
+    }
+
+    // Fichas que o assento colocou no pote na mão atual
+    public int getContribution(int seat) {
+        return contributions[seat];
+    }
+
+    public int getActivePlayerCount() {
+        return Long.bitCount(activeSeats);
+    }
+
+    // Maior aposta da volta atual e quanto falta para o jogador da vez igualá-la
+    public int getCurrentBet() {
+        return currentBet;
+    }
+
+    public int getToCall() {
+        return Math.max(0, currentBet - streetContributions[currentPlayerIndex]);
+    }
+
+    // Aumento mínimo sobre a aposta atual (o último aumento completo, no mínimo o big blind)
+    public int getMinRaise() {
+        return minRaise;
+    }
+
+    // Fichas que o assento colocou na volta atual
+    public int getStreetContribution(int seat) {
+        return streetContributions[seat];
+    }
+
+    // Ninguém mais precisa agir na volta atual (ou não há mão em andamento)
+    public boolean isBettingRoundOver() {
+        return pendingSeats == 0;
+    }
+
+    // Máscaras de assentos (bit s = assento s) ainda na mão e que ainda precisam agir nesta volta
+    public long getActiveSeats() {
+        return activeSeats;
+    }
+
+    public long getPendingSeats() {
+        return pendingSeats;
+    }
+
+    long getActedSeats() {
+        return actedSeats;
+    }
+
+    long getLockedSeats() {
+        return lockedSeats;
+    }
+
+    public int getCurrentPhase() {
+        return currentPhase;
+    }
+
+    public int getDealerIndex() {
+        return dealerIndex;
     }
 
     public String getCommunityCardString() {
@@ -127,6 +989,11 @@ public class PokerGame {
                 .collect(Collectors.joining("\n"));
     }
 
+    // Equity atual do jogador (0 a 1), ou null se não houver cálculo para a fase atual
+    public Double getEquity(Player player) {
+        return equities.get(player);
+    }
+
     public int getCurrentPlayerIndex() {
         return currentPlayerIndex;
     }
@@ -2,9 +2,19 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
 import java.awt.event.ActionEvent;
+import java.awt.image.BufferedImage;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -16,28 +26,59 @@ import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
-public class PokerGameGUI extends JFrame {
-    private PokerGame game;
+// Janela de uma mesa. O PokerGame só é tocado na thread da mesa ("mesa-gui"): botões viram tarefas
+// nela e cada mudança gera ali uma TableView imutável, que é tudo o que o EDT lê para desenhar
+public class PokerGameGUI extends JFrame implements GameListener {
+    private final PokerGame game;
     private JTextArea[] playerHands;
     private JTextArea communityCardsArea;
-    private JButton btnDeal, btnFold, btnBet, btnRestart, btnShowChips;
+    private JButton btnDeal, btnFold, btnCall, btnBet, btnNextHand, btnRestart, btnShowChips;
     private JTextField betAmountField;
     private JLabel potLabel;
     private PokerTablePanel tablePanel;
+    // Flags PokerGame.CHANGED_* acumuladas até o próximo ciclo do EDT
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+    // View mais recente, publicada pela thread da mesa; sequence só é usada nessa thread
+    private volatile TableView latestView;
+    private long viewSequence;
+    // Thread da mesa: as jogadas dos botões e as vezes dos bots que vêm em seguida (rollouts com
+    // prazo) rodam aqui, fora do EDT; as mudanças chegam ao EDT pelos métodos de GameListener
+    private final ExecutorService tableThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mesa-gui");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public PokerGameGUI(PokerGame game) {
         this.game = game;
-        initializeUI();
-        game.setGameGUI(this);
+        // Liga a janela à mesa e tira a primeira view já na thread da mesa
+        latestView = onTableThread(() -> {
+            game.setGameGUI(this);
+            game.setEquityTracking(true);
+            return new TableView(viewSequence++, PokerGame.CHANGED_ALL, game);
+        });
+        initializeUI(latestView);
     }
 
-    private void initializeUI() {
+    // Única espera do EDT pela thread da mesa, na criação da janela
+    private <T> T onTableThread(Callable<T> task) {
+        try {
+            return tableThread.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido esperando a thread da mesa", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na thread da mesa", e.getCause());
+        }
+    }
+
+    private void initializeUI(TableView view) {
         setTitle("Texas Hold'em Poker");
         setSize(800, 600);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
         // Substitui o JPanel padrão por PokerTablePanel
-        tablePanel = new PokerTablePanel(game.getPlayers());
+        tablePanel = new PokerTablePanel(view.table.getSeatCount());
         setLayout(new BorderLayout());
         add(tablePanel, BorderLayout.CENTER);
 
@@ -48,31 +89,38 @@ public class PokerGameGUI extends JFrame {
         JPanel bottomPanel = new JPanel();
         btnDeal = new JButton("Deal");
         btnFold = new JButton("Fold");
+        btnCall = new JButton("Check/Call");
         btnBet = new JButton("Bet");
+        btnNextHand = new JButton("Next Hand");
         btnRestart = new JButton("Restart Game");
         btnShowChips = new JButton("Show Chips");
         betAmountField = new JTextField(5);
 
         btnDeal.addActionListener(this::dealAction);
         btnFold.addActionListener(this::foldAction);
+        btnCall.addActionListener(this::callAction);
         btnBet.addActionListener(this::betAction);
-        btnRestart.addActionListener(e -> game.restartGame());
+        // Próxima mão mantém as fichas; Restart volta todos às fichas iniciais
+        btnNextHand.addActionListener(e -> perform(game::startNewHand));
+        btnRestart.addActionListener(e -> perform(game::restartGame));
         btnShowChips.addActionListener(e -> displayPlayerChips());
 
-        potLabel = new JLabel("Pot: " + game.getPot());
+        potLabel = new JLabel("Pot: " + view.table.getPot());
         bottomPanel.add(potLabel);
         bottomPanel.add(btnDeal);
         bottomPanel.add(btnFold);
+        bottomPanel.add(btnCall);
         bottomPanel.add(btnBet);
         bottomPanel.add(new JLabel("Bet Amount:"));
         bottomPanel.add(betAmountField);
+        bottomPanel.add(btnNextHand);
         bottomPanel.add(btnRestart);
         bottomPanel.add(btnShowChips);
 
         add(bottomPanel, BorderLayout.NORTH);
 
         // Initialize playerHands array
-        playerHands = new JTextArea[game.getPlayers().size()];
+        playerHands = new JTextArea[view.table.getSeatCount()];
         for (int i = 0; i < playerHands.length; i++) {
             playerHands[i] = new JTextArea(5, 15);
             playerHands[i].setEditable(false);
@@ -83,96 +131,243 @@ public class PokerGameGUI extends JFrame {
     }
 
     private void dealAction(ActionEvent e) {
-        game.dealNextCards();
-        updateUI();
+        perform(game::dealNextCards);
     }
 
     private void foldAction(ActionEvent e) {
-        game.getCurrentPlayer().fold();
-        updateUI();
+        perform(game::fold);
+    }
+
+    private void callAction(ActionEvent e) {
+        perform(game::call);
     }
 
+    // O valor informado são as fichas colocadas nesta ação (pagar, apostar ou aumentar); o campo é
+    // lido ainda no EDT
     private void betAction(ActionEvent e) {
-        int amount = Integer.parseInt(betAmountField.getText());
-        game.getCurrentPlayer().bet(amount);
-        game.addToPot(amount);
-        updateUI();
+        String amount = betAmountField.getText().trim();
+        perform(() -> game.bet(Integer.parseInt(amount)));
+    }
+
+    // Executa a jogada na thread da mesa, em ordem de clique. Jogadas fora da vez ou fora das regras
+    // de aposta viram uma mensagem no EDT, sem alterar a mesa
+    private void perform(Runnable action) {
+        tableThread.execute(() -> {
+            try {
+                action.run();
+            } catch (IllegalStateException | IllegalArgumentException ex) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, ex.getMessage(),
+                        "Jogada inválida", JOptionPane.WARNING_MESSAGE));
+            }
+        });
+    }
+
+    @Override
+    public void onStateChanged(PokerGame game) {
+        onChanged(game, PokerGame.CHANGED_ALL);
+    }
+
+    // Na thread da mesa: copia o estado numa view e acumula as mudanças; só a primeira agenda uma
+    // atualização no EDT, então várias ações seguidas geram um único redesenho da view mais recente
+    @Override
+    public void onChanged(PokerGame game, int changes) {
+        latestView = new TableView(viewSequence++, changes, game);
+        if (pendingChanges.getAndAccumulate(changes, (a, b) -> a | b) == 0) {
+            SwingUtilities.invokeLater(() -> updateUI(pendingChanges.getAndSet(0)));
+        }
+    }
+
+    // A mensagem é montada na thread da mesa, com as cartas do vencedor daquele instante
+    @Override
+    public void onWinner(Player winner) {
+        String message = winner != null ? winner.getName() + " wins with " + winner.getHandString()
+                : "No winner in this round";
+        SwingUtilities.invokeLater(() -> showWinner(message));
     }
 
-    void updateUI() {
-        communityCardsArea.setText(game.getCommunityCardString());
-        for (int i = 0; i < game.getPlayers().size(); i++) {
-            playerHands[i].setText(game.getPlayers().get(i).getHandString());
+    // Atualiza apenas as partes marcadas em changes, a partir da view mais recente
+    void updateUI(int changes) {
+        long start = Metrics.start();
+        TableView view = latestView;
+        if ((changes & PokerGame.CHANGED_CARDS) != 0) {
+            communityCardsArea.setText(view.board);
+            for (int i = 0; i < playerHands.length; i++) {
+                playerHands[i].setText(view.hands[i]);
+            }
+        }
+        if ((changes & PokerGame.CHANGED_POT) != 0) {
+            potLabel.setText("Pot: " + view.table.getPot());
+        }
+        if ((changes & PokerGame.CHANGED_TURN) != 0) {
+            tablePanel.setCurrentPlayerIndex(view.table.getCurrentPlayer());
         }
-        potLabel.setText("Pot: " + game.getPot());
-        tablePanel.setCurrentPlayerIndex(game.getCurrentPlayerIndex());
-        repaint();  // Redraw the GUI to show current player highlight
+        if ((changes & (PokerGame.CHANGED_CARDS | PokerGame.CHANGED_CHIPS | PokerGame.CHANGED_EQUITY)) != 0) {
+            tablePanel.repaintSeats();
+        }
+        Metrics.stop(Metrics.UPDATE_UI, start);
     }
 
     public void displayPlayerChips() {
+        TableView view = latestView;
         StringBuilder chipsInfo = new StringBuilder("Fichas dos Jogadores:\n");
-        for (Player player : game.getPlayers()) {
-            chipsInfo.append(player.getName()).append(": ").append(player.getChips()).append(" fichas\n");
+        for (int i = 0; i < view.names.length; i++) {
+            chipsInfo.append(view.names[i]).append(": ").append(view.table.getChips(i)).append(" fichas\n");
         }
         JOptionPane.showMessageDialog(this, chipsInfo.toString());
     }
 
-    public void showWinner(Player winner) {
-        // Verifica se há um vencedor e exibe sua mão.
-        if (winner != null) {
-            JOptionPane.showMessageDialog(this,
-                winner.getName() + " wins with " + winner.getHandString(),
-                "Game Winner",
-                JOptionPane.INFORMATION_MESSAGE);
-        } else {
-            JOptionPane.showMessageDialog(this,
-                "No winner in this round",
-                "Game Winner",
-                JOptionPane.INFORMATION_MESSAGE);
+    private void showWinner(String message) {
+        JOptionPane.showMessageDialog(this, message, "Game Winner", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    // Tudo o que a janela mostra num instante: o TableSnapshot público da mesa mais os textos das
+    // cartas, a combinação de cada jogador e a equity, copiados na thread da mesa
+    static final class TableView {
+        final TableSnapshot table;
+        final String board;
+        final String[] names;
+        final String[] hands;
+        final String[] handNames; // null sem cartas ou depois de desistir
+        final Double[] equities;  // null sem equity calculada
+
+        TableView(long sequence, int changes, PokerGame game) {
+            table = new TableSnapshot(sequence, changes, game);
+            board = game.getCommunityCardString();
+            List<Player> players = game.getPlayers();
+            int seats = players.size();
+            names = new String[seats];
+            hands = new String[seats];
+            handNames = new String[seats];
+            equities = new Double[seats];
+            for (int i = 0; i < seats; i++) {
+                Player player = players.get(i);
+                names[i] = player.getName();
+                hands[i] = player.getHandString();
+                HandTracker hand = player.getHandTracker();
+                handNames[i] = hand.getCardCount() > 0 && !player.hasFolded() ? hand.getHandName() : null;
+                equities[i] = game.getEquity(player);
+            }
         }
     }
     
 
     class PokerTablePanel extends JPanel {
-        List<Player> players;
+        private static final int SEAT_WIDTH = 100;
+        private static final int SEAT_HEIGHT = 60;
+        private final Color tableColor = new Color(0, 128, 0);
+
+        private final int seatCount;
         int currentPlayerIndex = -1;
+        // Fundo (mesa) desenhado uma vez por tamanho do painel; os assentos são redesenhados por cima
+        private BufferedImage background;
+        private Rectangle[] seats;
 
-        public PokerTablePanel(List<Player> players) {
-            this.players = players;
+        public PokerTablePanel(int seatCount) {
+            this.seatCount = seatCount;
             setPreferredSize(new Dimension(600, 400));
+            setOpaque(true);
         }
 
+        // Redesenha só o assento anterior e o novo jogador da vez
         public void setCurrentPlayerIndex(int index) {
+            if (index == currentPlayerIndex) {
+                return;
+            }
+            repaintSeat(currentPlayerIndex);
             this.currentPlayerIndex = index;
-            repaint();
+            repaintSeat(index);
         }
 
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            g.setColor(new Color(0, 128, 0)); // Green color for the table
-            g.fillOval(50, 50, getWidth() - 100, getHeight() - 100); // Draws an oval table
+        public void repaintSeats() {
+            for (int i = 0; i < seatCount; i++) {
+                repaintSeat(i);
+            }
+        }
 
-            int centerX = getWidth() / 2;
-            int centerY = getHeight() / 2;
-            int radius = Math.min(getWidth(), getHeight()) / 3;
-            double angleStep = 2 * Math.PI / players.size();
+        private void repaintSeat(int index) {
+            if (seats != null && index >= 0 && index < seats.length) {
+                repaint(seats[index]);
+            }
+        }
 
-            for (int i = 0; i < players.size(); i++) {
+        // Recria o fundo e as posições dos assentos quando o tamanho muda
+        private void layoutTable() {
+            int width = getWidth();
+            int height = getHeight();
+            if (background != null && background.getWidth() == width && background.getHeight() == height) {
+                return;
+            }
+            background = new BufferedImage(Math.max(width, 1), Math.max(height, 1), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = background.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(getBackground());
+            g.fillRect(0, 0, width, height);
+            g.setColor(tableColor);
+            g.fillOval(50, 50, width - 100, height - 100); // Draws an oval table
+            g.dispose();
+
+            int centerX = width / 2;
+            int centerY = height / 2;
+            int radius = Math.min(width, height) / 3;
+            double angleStep = 2 * Math.PI / seatCount;
+            seats = new Rectangle[seatCount];
+            for (int i = 0; i < seats.length; i++) {
                 int x = (int) (centerX + radius * Math.cos(angleStep * i)) - 50;
                 int y = (int) (centerY + radius * Math.sin(angleStep * i)) - 30;
+                seats[i] = new Rectangle(x, y, SEAT_WIDTH, SEAT_HEIGHT);
+            }
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            layoutTable();
+            g.drawImage(background, 0, 0, null);
+            Rectangle clip = g.getClipBounds();
+            TableView view = latestView;
+
+            for (int i = 0; i < seatCount; i++) {
+                Rectangle seat = seats[i];
+                if (clip != null && !clip.intersects(seat)) {
+                    continue; // Assento fora da região suja
+                }
+                int x = seat.x;
+                int y = seat.y;
                 if (i == currentPlayerIndex) {
                     g.setColor(Color.BLACK); // Highlight the current player
                 } else {
-                    g.setColor(new Color(0, 128, 0)); // Normal color for other players
+                    g.setColor(tableColor); // Normal color for other players
                 }
-                g.fillOval(x, y, 100, 60); // Draw the player spot
+                g.fillOval(x, y, SEAT_WIDTH, SEAT_HEIGHT); // Draw the player spot
                 g.setColor(Color.WHITE);
-                g.drawString(players.get(i).getName() + ": " + players.get(i).getChips(), x + 10, y + 30);
+                g.drawString(view.names[i] + ": " + view.table.getChips(i), x + 10, y + 30);
+                Double equity = view.equities[i];
+                if (equity != null) {
+                    g.drawString(String.format("%.1f%%", equity * 100), x + 10, y + 45);
+                }
+                if (view.handNames[i] != null) {
+                    g.drawString(view.handNames[i], x + 10, y + 15);
+                }
             }
         }
     }
     public static void main(String[] args) {
+    // Lista de nomes de jogadores - pode ser modificada para incluir entradas do usuário
+    List<String> playerNames = Arrays.asList("Alice", "Bob", "Charlie", "Diana");
+
+    // Cada jogador começa com uma quantia inicial de fichas
+    int initialChips = 1000;
+
+    // Cria a instância do jogo, antes de existir a janela; dali em diante só a thread da mesa a toca
+    PokerGame game = new PokerGame(playerNames, initialChips);
+    // Alice é a jogadora humana; os demais assentos são bots com prazo por decisão
+    for (int i = 1; i < game.getPlayers().size(); i++) {
+        game.getPlayers().get(i).setHuman(false);
+    }
+    game.setBotStrategy(new RolloutStrategy());
+    game.setPreflopTable(EquityTable.loadIfPresent(Paths.get("preflop-equity.bin")));
+
+    Metrics.registerMBean();
+
     SwingUtilities.invokeLater(() -> {
         try {
             // Configura a aparência da interface para seguir o estilo do sistema operacional
@@ -181,15 +376,6 @@ public class PokerGameGUI extends JFrame {
             e.printStackTrace();
         }
 
-        // Lista de nomes de jogadores - pode ser modificada para incluir entradas do usuário
-        List<String> playerNames = Arrays.asList("Alice", "Bob", "Charlie", "Diana");
-
-        // Cada jogador começa com uma quantia inicial de fichas
-        int initialChips = 1000;
-
-        // Cria a instância do jogo
-        PokerGame game = new PokerGame(playerNames, initialChips);
-
         // Cria e exibe a GUI
         new PokerGameGUI(game);
     });
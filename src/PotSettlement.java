@@ -0,0 +1,123 @@
+// Divide o pote no showdown: monta o pote principal e os potes laterais a partir do quanto cada
+// assento contribuiu na mão, entrega cada pote à melhor mão elegível e reparte empates, com as
+// fichas ímpares indo para os vencedores mais à esquerda do botão. Todos os arrays de trabalho
+// são reaproveitados entre mãos, então settle não aloca nem faz boxing
+public class PotSettlement {
+    private final int[] order;      // assentos ordenados por contribuição crescente
+    private final int[] potAmounts;
+    private final int[] potLevels;  // contribuição máxima coberta por cada pote
+    private final int[] winners;
+    private int potCount;
+
+    public PotSettlement(int maxSeats) {
+        order = new int[maxSeats];
+        potAmounts = new int[maxSeats + 1];
+        potLevels = new int[maxSeats + 1];
+        winners = new int[maxSeats];
+    }
+
+    // contributions: fichas que cada assento colocou na mão; folded: assentos fora da disputa;
+    // strengths: força das mãos (HandEvaluator), ignorada para quem desistiu; deadMoney: fichas no
+    // pote sem dono (entram no pote principal); firstSeat: primeiro assento à esquerda do botão.
+    // Escreve em payouts quanto cada assento recebe e retorna o número de potes montados
+    public int settle(int seats, int[] contributions, boolean[] folded, int[] strengths, int deadMoney,
+            int firstSeat, int[] payouts) {
+        for (int s = 0; s < seats; s++) {
+            payouts[s] = 0;
+            order[s] = s;
+        }
+        // Ordenação por inserção: no máximo 10 assentos
+        for (int i = 1; i < seats; i++) {
+            int seat = order[i];
+            int j = i - 1;
+            while (j >= 0 && contributions[order[j]] > contributions[seat]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = seat;
+        }
+
+        // Cada nível de contribuição distinto fecha um pote; níveis sem ninguém elegível (só quem
+        // desistiu apostou até ali) são somados ao pote anterior
+        potCount = 0;
+        int previousLevel = 0;
+        for (int i = 0; i < seats; i++) {
+            int level = contributions[order[i]];
+            if (level == previousLevel) {
+                continue;
+            }
+            int amount = 0;
+            boolean eligible = false;
+            for (int s = 0; s < seats; s++) {
+                amount += Math.min(contributions[s], level) - Math.min(contributions[s], previousLevel);
+                eligible |= !folded[s] && contributions[s] >= level;
+            }
+            if (eligible || potCount == 0) {
+                potAmounts[potCount] = amount;
+                potLevels[potCount] = level;
+                potCount++;
+            } else {
+                potAmounts[potCount - 1] += amount;
+            }
+            previousLevel = level;
+        }
+        if (potCount == 0) {
+            potAmounts[0] = 0;
+            potLevels[0] = 0;
+            potCount = 1;
+        }
+        potAmounts[0] += deadMoney;
+
+        for (int p = 0; p < potCount; p++) {
+            award(seats, potAmounts[p], potLevels[p], contributions, folded, strengths, firstSeat, payouts);
+        }
+        return potCount;
+    }
+
+    // Entrega um pote à melhor mão entre os assentos ativos que cobriram o nível do pote;
+    // se ninguém cobriu (todos desistiram), o pote fica com quem contribuiu mais e não desistiu
+    private void award(int seats, int amount, int level, int[] contributions, boolean[] folded, int[] strengths,
+            int firstSeat, int[] payouts) {
+        int best = Integer.MIN_VALUE;
+        int count = 0;
+        for (int k = 0; k < seats; k++) {
+            int s = (firstSeat + k) % seats; // Ordem a partir da esquerda do botão
+            if (folded[s] || contributions[s] < level) {
+                continue;
+            }
+            if (strengths[s] > best) {
+                best = strengths[s];
+                count = 0;
+            }
+            if (strengths[s] == best) {
+                winners[count++] = s;
+            }
+        }
+        if (count == 0) {
+            for (int k = 0; k < seats; k++) {
+                int s = (firstSeat + k) % seats;
+                if (!folded[s]) {
+                    winners[count++] = s;
+                    break;
+                }
+            }
+            if (count == 0) {
+                return; // Ninguém na disputa: nada a entregar
+            }
+        }
+        int share = amount / count;
+        int oddChips = amount - share * count;
+        for (int w = 0; w < count; w++) {
+            payouts[winners[w]] += share + (w < oddChips ? 1 : 0);
+        }
+    }
+
+    // Valor do pote i (0 é o principal) calculado no último settle
+    public int getPotAmount(int pot) {
+        return potAmounts[pot];
+    }
+
+    public int getPotCount() {
+        return potCount;
+    }
+}
@@ -0,0 +1,32 @@
+import java.util.SplittableRandom;
+
+// Estratégia aleatória: desiste, passa ou aposta com probabilidades fixas
+public class RandomStrategy implements Strategy {
+    private final SplittableRandom random;
+    private final double foldProbability;
+    private final double betProbability;
+
+    public RandomStrategy(long seed) {
+        this(seed, 0.15, 0.25);
+    }
+
+    public RandomStrategy(long seed, double foldProbability, double betProbability) {
+        this.random = new SplittableRandom(seed);
+        this.foldProbability = foldProbability;
+        this.betProbability = betProbability;
+    }
+
+    @Override
+    public Action decide(PokerGame game, Player player) {
+        double roll = random.nextDouble();
+        if (roll < foldProbability) {
+            return Action.fold();
+        }
+        // Apostas de até 10% das fichas restantes
+        int maxBet = player.getChips() / 10;
+        if (roll < foldProbability + betProbability && maxBet > 0) {
+            return Action.bet(1 + random.nextInt(maxBet));
+        }
+        return Action.check();
+    }
+}
@@ -0,0 +1,181 @@
+import java.util.Arrays;
+
+// Range de mãos iniciais: um peso (0 a 1) para cada um dos 1326 combos de duas cartas
+public class Range {
+    static final int COMBOS = 52 * 51 / 2;
+
+    private static final String RANK_CHARS = "23456789TJQKA";
+
+    // Combo -> cartas e máscara; par de cartas (menor * 52 + maior) -> combo
+    private static final int[] FIRST = new int[COMBOS];
+    private static final int[] SECOND = new int[COMBOS];
+    private static final long[] MASKS = new long[COMBOS];
+    private static final short[] INDEX = new short[52 * 52];
+
+    static {
+        int combo = 0;
+        for (int first = 0; first < Card.DECK_SIZE; first++) {
+            for (int second = first + 1; second < Card.DECK_SIZE; second++) {
+                FIRST[combo] = first;
+                SECOND[combo] = second;
+                MASKS[combo] = Card.mask(first) | Card.mask(second);
+                INDEX[first * 52 + second] = (short) combo;
+                INDEX[second * 52 + first] = (short) combo;
+                combo++;
+            }
+        }
+    }
+
+    private final double[] weights = new double[COMBOS];
+
+    // Range com todos os combos
+    public static Range full() {
+        Range range = new Range();
+        Arrays.fill(range.weights, 1.0);
+        return range;
+    }
+
+    // Lê a notação usual separada por vírgulas: "AA", "AKs", "KQo", "QJ" (suited e offsuit),
+    // "77+" (77 até AA), "A2s+" (A2s até AKs) e peso opcional com ":", como "KQo:0.5"
+    public static Range parse(String notation) {
+        Range range = new Range();
+        for (String token : notation.split(",")) {
+            token = token.trim();
+            if (token.isEmpty()) {
+                continue;
+            }
+            double weight = 1.0;
+            int colon = token.indexOf(':');
+            if (colon >= 0) {
+                weight = Double.parseDouble(token.substring(colon + 1));
+                token = token.substring(0, colon);
+            }
+            boolean plus = token.endsWith("+");
+            if (plus) {
+                token = token.substring(0, token.length() - 1);
+            }
+            if (token.length() < 2 || token.length() > 3) {
+                throw new IllegalArgumentException("Mão inválida no range: " + token);
+            }
+            int high = rankOf(token.charAt(0));
+            int low = rankOf(token.charAt(1));
+            char kind = token.length() == 3 ? token.charAt(2) : ' ';
+            if (high < low) {
+                int swap = high;
+                high = low;
+                low = swap;
+            }
+            if (high == low) {
+                if (kind != ' ') {
+                    throw new IllegalArgumentException("Par não pode ser suited ou offsuit: " + token);
+                }
+                for (int rank = low; rank <= (plus ? 12 : low); rank++) {
+                    range.addClass(rank, rank, ' ', weight);
+                }
+            } else {
+                if (kind != ' ' && kind != 's' && kind != 'o') {
+                    throw new IllegalArgumentException("Mão inválida no range: " + token);
+                }
+                for (int rank = low; rank <= (plus ? high - 1 : low); rank++) {
+                    range.addClass(high, rank, kind, weight);
+                }
+            }
+        }
+        return range;
+    }
+
+    private static int rankOf(char c) {
+        int rank = RANK_CHARS.indexOf(Character.toUpperCase(c));
+        if (rank < 0) {
+            throw new IllegalArgumentException("Valor inválido no range: " + c);
+        }
+        return rank;
+    }
+
+    // Todos os combos de uma classe (valores 0 a 12); kind 's', 'o' ou ' ' para ambos
+    private void addClass(int high, int low, char kind, double weight) {
+        for (int firstSuit = 0; firstSuit < 4; firstSuit++) {
+            for (int secondSuit = 0; secondSuit < 4; secondSuit++) {
+                boolean suited = firstSuit == secondSuit;
+                if ((kind == 's' && !suited) || (kind == 'o' && suited) || (high == low && secondSuit <= firstSuit)) {
+                    continue;
+                }
+                weights[comboIndex(firstSuit * 13 + high, secondSuit * 13 + low)] = weight;
+            }
+        }
+    }
+
+    // Combo formado por duas cartas (codificação inteira), em qualquer ordem
+    static int comboIndex(int first, int second) {
+        return INDEX[first * 52 + second];
+    }
+
+    // Combo de uma máscara com exatamente duas cartas
+    static int comboIndex(long holeMask) {
+        int low = Card.indexOfBit(Long.numberOfTrailingZeros(holeMask));
+        int high = Card.indexOfBit(63 - Long.numberOfLeadingZeros(holeMask));
+        return INDEX[low * 52 + high];
+    }
+
+    static long comboMask(int combo) {
+        return MASKS[combo];
+    }
+
+    static int firstCard(int combo) {
+        return FIRST[combo];
+    }
+
+    static int secondCard(int combo) {
+        return SECOND[combo];
+    }
+
+    public double getWeight(int combo) {
+        return weights[combo];
+    }
+
+    public void setWeight(int combo, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Peso negativo no range: " + weight);
+        }
+        weights[combo] = weight;
+    }
+
+    public void setWeight(long holeMask, double weight) {
+        setWeight(comboIndex(holeMask), weight);
+    }
+
+    // Cópia sem os combos que usam cartas mortas (mesa, mãos conhecidas)
+    public Range without(long deadMask) {
+        Range range = new Range();
+        for (int combo = 0; combo < COMBOS; combo++) {
+            if ((MASKS[combo] & deadMask) == 0) {
+                range.weights[combo] = weights[combo];
+            }
+        }
+        return range;
+    }
+
+    // Quantidade de combos com peso positivo
+    public int size() {
+        int count = 0;
+        for (double weight : weights) {
+            if (weight > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public double getTotalWeight() {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        return total;
+    }
+
+    // Pesos indexados por combo, para os cálculos; não alterar
+    double[] weights() {
+        return weights;
+    }
+}
@@ -0,0 +1,252 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Equity de um range contra outro numa mesa de 3 a 5 cartas, enumerando todas as cartas que faltam.
+// Em cada mesa completa, cada combo é avaliado uma vez; os combos são ordenados por força e uma
+// varredura acumula o peso do oponente abaixo e no mesmo nível, descontando por carta os combos
+// que colidem. Assim cada mesa custa O(n log n) em vez de um showdown por par de combos.
+public class RangeEquity {
+    // Mesas completas por tarefa antes de dividir
+    private static final int LEAF_BOARDS = 16;
+
+    private final ForkJoinPool pool;
+
+    public RangeEquity() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public RangeEquity(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Resultado: totais ponderados do range do herói e equity de cada combo dele
+    public static final class Result {
+        private final double[] wins;
+        private final double[] ties;
+        private final double[] matchups;
+        private final double[] heroWeights;
+
+        Result(double[] wins, double[] ties, double[] matchups, double[] heroWeights) {
+            this.wins = wins;
+            this.ties = ties;
+            this.matchups = matchups;
+            this.heroWeights = heroWeights;
+        }
+
+        // Equity do range do herói: vitórias mais metade dos empates, ponderadas pelos pesos dos dois ranges
+        public double getEquity() {
+            return weighted(wins, 1.0) + weighted(ties, 0.5);
+        }
+
+        public double getWin() {
+            return weighted(wins, 1.0);
+        }
+
+        public double getTie() {
+            return weighted(ties, 1.0);
+        }
+
+        // Equity de um combo do herói contra o range do oponente; NaN se não houver confronto possível
+        public double getComboEquity(int combo) {
+            return (wins[combo] + ties[combo] / 2) / matchups[combo];
+        }
+
+        // Peso total dos confrontos (combo do herói x combo do oponente x mesa) avaliados
+        public double getMatchups() {
+            double total = 0;
+            for (int combo = 0; combo < Range.COMBOS; combo++) {
+                total += heroWeights[combo] * matchups[combo];
+            }
+            return total;
+        }
+
+        private double weighted(double[] values, double factor) {
+            double sum = 0;
+            double total = 0;
+            for (int combo = 0; combo < Range.COMBOS; combo++) {
+                sum += heroWeights[combo] * values[combo] * factor;
+                total += heroWeights[combo] * matchups[combo];
+            }
+            return total > 0 ? sum / total : Double.NaN;
+        }
+    }
+
+    // Acumuladores por combo do herói, somados ao longo das mesas
+    private static final class Totals {
+        final double[] wins = new double[Range.COMBOS];
+        final double[] ties = new double[Range.COMBOS];
+        final double[] matchups = new double[Range.COMBOS];
+
+        void add(Totals other) {
+            for (int combo = 0; combo < Range.COMBOS; combo++) {
+                wins[combo] += other.wins[combo];
+                ties[combo] += other.ties[combo];
+                matchups[combo] += other.matchups[combo];
+            }
+        }
+    }
+
+    public Result equity(Range hero, Range villain, long board) {
+        int cards = Long.bitCount(board);
+        if (cards < 3 || cards > 5) {
+            throw new IllegalArgumentException("A mesa deve ter de 3 a 5 cartas");
+        }
+        long[] boards = completions(board, 5 - cards);
+        double[] heroWeights = hero.without(board).weights();
+        double[] villainWeights = villain.without(board).weights();
+        Totals totals = pool.invoke(new BoardTask(boards, 0, boards.length, heroWeights, villainWeights));
+        return new Result(totals.wins, totals.ties, totals.matchups, heroWeights);
+    }
+
+    // Todas as mesas completas a partir da mesa parcial. Toda dupla de combos compatíveis é
+    // compatível com o mesmo número de mesas, então todas entram com peso igual
+    private static long[] completions(long board, int missing) {
+        List<Long> result = new ArrayList<>();
+        complete(board, missing, 0, result);
+        long[] boards = new long[result.size()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = result.get(i);
+        }
+        return boards;
+    }
+
+    private static void complete(long board, int missing, int from, List<Long> result) {
+        if (missing == 0) {
+            result.add(board);
+            return;
+        }
+        for (int card = from; card < Card.DECK_SIZE; card++) {
+            long bit = Card.mask(card);
+            if ((board & bit) == 0) {
+                complete(board | bit, missing - 1, card + 1, result);
+            }
+        }
+    }
+
+    private static final class BoardTask extends RecursiveTask<Totals> {
+        private final long[] boards;
+        private final int from;
+        private final int to;
+        private final double[] heroWeights;
+        private final double[] villainWeights;
+
+        BoardTask(long[] boards, int from, int to, double[] heroWeights, double[] villainWeights) {
+            this.boards = boards;
+            this.from = from;
+            this.to = to;
+            this.heroWeights = heroWeights;
+            this.villainWeights = villainWeights;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= LEAF_BOARDS) {
+                Totals totals = new Totals();
+                long[] keys = new long[Range.COMBOS];
+                for (int i = from; i < to; i++) {
+                    sweep(boards[i], heroWeights, villainWeights, keys, totals);
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            BoardTask left = new BoardTask(boards, from, middle, heroWeights, villainWeights);
+            left.fork();
+            Totals right = new BoardTask(boards, middle, to, heroWeights, villainWeights).compute();
+            Totals totals = left.join();
+            totals.add(right);
+            return totals;
+        }
+    }
+
+    // Uma mesa completa: avalia os combos vivos, ordena por força e varre em grupos de força igual
+    static void sweep(long board, double[] heroWeights, double[] villainWeights, long[] keys, Totals totals) {
+        int live = 0;
+        double villainTotal = 0;
+        double[] villainByCard = new double[Card.DECK_SIZE];
+        for (int combo = 0; combo < Range.COMBOS; combo++) {
+            if ((Range.comboMask(combo) & board) != 0 || (heroWeights[combo] == 0 && villainWeights[combo] == 0)) {
+                continue;
+            }
+            int strength = HandEvaluator.evaluate(board | Range.comboMask(combo));
+            keys[live++] = ((long) strength << 11) | combo;
+            double weight = villainWeights[combo];
+            villainTotal += weight;
+            villainByCard[Range.firstCard(combo)] += weight;
+            villainByCard[Range.secondCard(combo)] += weight;
+        }
+        Arrays.sort(keys, 0, live);
+
+        double below = 0;
+        double[] belowByCard = new double[Card.DECK_SIZE];
+        double[] groupByCard = new double[Card.DECK_SIZE];
+        int start = 0;
+        while (start < live) {
+            long strength = keys[start] >>> 11;
+            int end = start;
+            double group = 0;
+            while (end < live && keys[end] >>> 11 == strength) {
+                int combo = (int) keys[end] & 0x7FF;
+                double weight = villainWeights[combo];
+                group += weight;
+                groupByCard[Range.firstCard(combo)] += weight;
+                groupByCard[Range.secondCard(combo)] += weight;
+                end++;
+            }
+            for (int i = start; i < end; i++) {
+                int combo = (int) keys[i] & 0x7FF;
+                if (heroWeights[combo] == 0) {
+                    continue;
+                }
+                int first = Range.firstCard(combo);
+                int second = Range.secondCard(combo);
+                // Somar as duas cartas desconta duas vezes o combo idêntico, que só colide uma vez
+                double same = villainWeights[combo];
+                totals.wins[combo] += below - belowByCard[first] - belowByCard[second];
+                totals.ties[combo] += group - groupByCard[first] - groupByCard[second] + same;
+                totals.matchups[combo] += villainTotal - villainByCard[first] - villainByCard[second] + same;
+            }
+            for (int i = start; i < end; i++) {
+                int combo = (int) keys[i] & 0x7FF;
+                double weight = villainWeights[combo];
+                below += weight;
+                belowByCard[Range.firstCard(combo)] += weight;
+                belowByCard[Range.secondCard(combo)] += weight;
+                groupByCard[Range.firstCard(combo)] = 0;
+                groupByCard[Range.secondCard(combo)] = 0;
+            }
+            start = end;
+        }
+    }
+
+    private static final double[] FULL_RANGE = Range.full().weights();
+
+    // Equity de cada combo contra uma mão aleatória numa mesa completa de 5 cartas; combos que
+    // colidem com a mesa ficam com NaN. keys é área de trabalho com Range.COMBOS posições
+    static void comboEquities(long board, long[] keys, double[] out) {
+        Totals totals = new Totals();
+        sweep(board, FULL_RANGE, FULL_RANGE, keys, totals);
+        for (int combo = 0; combo < Range.COMBOS; combo++) {
+            out[combo] = totals.matchups[combo] > 0
+                    ? (totals.wins[combo] + totals.ties[combo] / 2) / totals.matchups[combo] : Double.NaN;
+        }
+    }
+
+    // Uso: java -cp bin RangeEquity "<range do herói>" "<range do oponente>" <mesa, índices 0-51 separados por vírgula>
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Uso: RangeEquity \"AA,KK,AKs\" \"22+,A2s+\" 51,37,20");
+            return;
+        }
+        long board = 0;
+        for (String card : args[2].split(",")) {
+            board |= Card.mask(Integer.parseInt(card.trim()));
+        }
+        long start = System.nanoTime();
+        Result result = new RangeEquity().equity(Range.parse(args[0]), Range.parse(args[1]), board);
+        System.out.printf("equity %.4f (vitória %.4f, empate %.4f) em %.1f ms%n", result.getEquity(),
+                result.getWin(), result.getTie(), (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -0,0 +1,240 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bot de referência: estima a equity contra os adversários ainda na mão por rollouts (mesa e mãos
+// adversárias aleatórias) até o prazo da decisão, e compara com as pot odds. A thread da mesa roda
+// rollouts até o prazo e, se o pool compartilhado não estiver congestionado, tarefas auxiliares
+// rodam em paralelo somando nos mesmos contadores. Sob carga o bot decide com menos rollouts em vez
+// de atrasar: com mais decisões simultâneas do que núcleos, cada uma calcula só pela sua fração do
+// prazo (elas dividem a CPU), e sem nenhum rollout o bot passa (ou desiste se tiver que pagar).
+// Os rollouts seguem a variante da mesa: baralho, cartas por adversário e avaliação do showdown
+public class RolloutStrategy implements Strategy {
+    static final long DEFAULT_BUDGET_NANOS = 5_000_000;
+    // Rollouts entre duas verificações do prazo
+    private static final int CHUNK = 64;
+    // Abaixo disso a decisão conta como estourada (decidida com amostra pequena demais)
+    static final long MIN_ROLLOUTS = 500;
+    // Aposta quando a equity passa deste múltiplo da parte justa do pote (1 / jogadores)
+    private static final double RAISE_FACTOR = 1.6;
+
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+    private final int helpers;
+    private final int cores = Runtime.getRuntime().availableProcessors();
+    // Decisões em andamento em todas as mesas que usam esta estratégia
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public RolloutStrategy() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUDGET_NANOS);
+    }
+
+    public RolloutStrategy(ForkJoinPool pool, long budgetNanos) {
+        this(pool, budgetNanos, Math.max(0, pool.getParallelism() - 1));
+    }
+
+    public RolloutStrategy(ForkJoinPool pool, long budgetNanos, int helpers) {
+        this.pool = pool;
+        this.budgetNanos = budgetNanos;
+        this.helpers = helpers;
+    }
+
+    @Override
+    public Action decide(PokerGame game, Player player) {
+        long start = System.nanoTime();
+        int opponents = game.getActivePlayerCount() - 1;
+        int toCall = Math.min(game.getToCall(), player.getChips());
+        if (opponents < 1) {
+            return Action.check();
+        }
+
+        double equity;
+        int concurrent = inFlight.incrementAndGet();
+        try {
+            long budget = budgetNanos;
+            if (concurrent > cores) {
+                budget = budgetNanos * cores / concurrent;
+                Metrics.increment(Metrics.BOT_DEGRADED);
+            }
+            equity = equity(game.getVariant(), Card.toMask(player.getHand()), Card.toMask(game.getCommunityCards()),
+                    opponents, start + budget);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        Action action = choose(equity, opponents, toCall, game.getPot(), game.getMinRaise());
+        Metrics.stop(Metrics.BOT_DECISION, start);
+        return action;
+    }
+
+    // Equity estimada até o prazo; NaN se nenhum rollout terminou
+    double equity(GameVariant variant, long hero, long board, int opponents, long deadline) {
+        Rollouts rollouts = new Rollouts(variant, hero, board, opponents, deadline);
+        SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        // Pool com fila acumulada: as tarefas auxiliares só começariam depois do prazo
+        int started = pool.getQueuedSubmissionCount() > 0 ? 0 : helpers;
+        if (started < helpers) {
+            Metrics.increment(Metrics.BOT_DEGRADED);
+        }
+        for (int i = 0; i < started; i++) {
+            SplittableRandom split = random.split();
+            pool.execute(() -> rollouts.run(split));
+        }
+        rollouts.run(random);
+        rollouts.stopped = true;
+
+        long trials = rollouts.trials.sum();
+        if (Metrics.ENABLED) {
+            Metrics.BOT_ROLLOUTS.add(trials);
+        }
+        if (trials < MIN_ROLLOUTS) {
+            Metrics.increment(Metrics.BOT_TIMEOUTS);
+        }
+        return trials == 0 ? Double.NaN : rollouts.points.sum() / (2.0 * trials);
+    }
+
+    // Pot odds: paga se a equity cobre o valor a pagar, aumenta meio pote (no mínimo o aumento
+    // mínimo) com mão bem acima da média da mesa
+    static Action choose(double equity, int opponents, int toCall, int pot, int minRaise) {
+        if (Double.isNaN(equity)) {
+            return toCall > 0 ? Action.fold() : Action.check();
+        }
+        boolean strong = equity > RAISE_FACTOR / (opponents + 1);
+        int raise = Math.max(pot / 2, minRaise);
+        if (toCall > 0) {
+            if (equity < (double) toCall / (pot + toCall)) {
+                return Action.fold();
+            }
+            return strong ? Action.bet(toCall + raise) : Action.bet(toCall);
+        }
+        return strong ? Action.bet(raise) : Action.check();
+    }
+
+    // Estado compartilhado de uma decisão: cada executor sorteia no seu próprio baralho e soma
+    // vitórias (2 pontos) e empates (1 ponto) a cada bloco de rollouts
+    private static final class Rollouts {
+        final GameVariant variant;
+        final long hero;
+        final long board;
+        final int opponents;
+        final long deadline;
+        final int[] deck;
+        final int missing;
+        final LongAdder trials = new LongAdder();
+        final LongAdder points = new LongAdder();
+        volatile boolean stopped;
+
+        Rollouts(GameVariant variant, long hero, long board, int opponents, long deadline) {
+            this.variant = variant;
+            this.hero = hero;
+            this.board = board;
+            this.opponents = opponents;
+            this.deadline = deadline;
+            long available = variant.getDeckMask() & ~(hero | board);
+            deck = new int[Long.bitCount(available)];
+            int n = 0;
+            for (int index = 0; index < Card.DECK_SIZE; index++) {
+                if ((available & Card.mask(index)) != 0) {
+                    deck[n++] = index;
+                }
+            }
+            missing = 5 - Long.bitCount(board);
+        }
+
+        void run(SplittableRandom random) {
+            int[] cards = deck.clone();
+            int holeCards = variant.getHoleCards();
+            int draw = missing + holeCards * opponents;
+            GameVariant.Evaluator evaluator = variant.newEvaluator();
+            while (!stopped && System.nanoTime() < deadline) {
+                long chunkPoints = 0;
+                for (int t = 0; t < CHUNK; t++) {
+                    // Fisher-Yates parcial: as primeiras draw posições viram cartas sorteadas
+                    for (int i = 0; i < draw; i++) {
+                        int j = i + random.nextInt(cards.length - i);
+                        int tmp = cards[i];
+                        cards[i] = cards[j];
+                        cards[j] = tmp;
+                    }
+                    long full = board;
+                    for (int i = 0; i < missing; i++) {
+                        full |= Card.mask(cards[i]);
+                    }
+                    evaluator.setBoard(full);
+                    int heroStrength = evaluator.evaluate(hero);
+                    int best = 0;
+                    for (int o = 0, c = missing; o < opponents; o++) {
+                        long hole = 0;
+                        for (int i = 0; i < holeCards; i++) {
+                            hole |= Card.mask(cards[c++]);
+                        }
+                        best = Math.max(best, evaluator.evaluate(hole));
+                    }
+                    chunkPoints += heroStrength > best ? 2 : heroStrength == best ? 1 : 0;
+                }
+                trials.add(CHUNK);
+                points.add(chunkPoints);
+            }
+        }
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    // Uso: java -cp bin RolloutStrategy [mesas] [mãos por mesa] [prazo em ms] [variante]
+    // Mesas só de bots jogando ao mesmo tempo, todas consultando o mesmo pool de rollouts
+    public static void main(String[] args) throws Exception {
+        int tables = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int hands = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        long budget = (long) ((args.length > 2 ? Double.parseDouble(args[2]) : 5) * 1_000_000);
+        GameVariant variant = args.length > 3 ? GameVariant.valueOf(args[3]) : GameVariant.HOLDEM;
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        RolloutStrategy strategy = new RolloutStrategy(pool, budget);
+        ExecutorService tableThreads = Executors.newFixedThreadPool(tables);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < tables; t++) {
+            long seed = t;
+            futures.add(tableThreads.submit(() -> {
+                PokerGame game = new PokerGame(List.of("A", "B", "C", "D", "E", "F"), 1000);
+                game.setShuffleRandom(ShuffleRandom.seeded(seed));
+                game.setBlinds(5, 10, 0);
+                game.setVariant(variant);
+                for (Player player : game.getPlayers()) {
+                    player.setHuman(false);
+                }
+                game.setBotStrategy(strategy);
+                for (int h = 0; h < hands; h++) {
+                    game.restartGame();
+                    while (!game.isHandOver()) {
+                        game.dealNextCards();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        tableThreads.shutdown();
+        pool.shutdown();
+
+        long[] latency = Metrics.BOT_DECISION.snapshot();
+        long decisions = LatencyHistogram.count(latency);
+        System.out.printf("%s: %d mesas x %d mãos em %.1f s, prazo %.1f ms, %d núcleos%n", variant, tables, hands,
+                seconds, budget / 1e6, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%d decisões: p50 %.2f ms, p99 %.2f ms, %.0f rollouts por decisão%n", decisions,
+                LatencyHistogram.percentile(latency, 50) / 1e6, LatencyHistogram.percentile(latency, 99) / 1e6,
+                (double) Metrics.BOT_ROLLOUTS.sum() / Math.max(1, decisions));
+        System.out.printf("estouradas (< %d rollouts): %d, degradadas por carga: %d, erros: %d%n", MIN_ROLLOUTS,
+                Metrics.BOT_TIMEOUTS.sum(), Metrics.BOT_DEGRADED.sum(), Metrics.BOT_ERRORS.sum());
+    }
+}
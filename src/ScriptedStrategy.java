@@ -0,0 +1,25 @@
+import java.util.List;
+
+// Estratégia roteirizada: repete uma sequência fixa de ações, útil para testar regras
+public class ScriptedStrategy implements Strategy {
+    private final Action[] script;
+    private int next;
+
+    public ScriptedStrategy(List<Action> script) {
+        if (script.isEmpty()) {
+            throw new IllegalArgumentException("O roteiro precisa de pelo menos uma ação");
+        }
+        this.script = script.toArray(new Action[0]);
+    }
+
+    @Override
+    public Action decide(PokerGame game, Player player) {
+        Action action = script[next];
+        next = (next + 1) % script.length;
+        // Apostas maiores que as fichas viram check
+        if (action.getType() == Action.Type.BET && action.getAmount() > player.getChips()) {
+            return Action.check();
+        }
+        return action;
+    }
+}
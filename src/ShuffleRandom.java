@@ -0,0 +1,84 @@
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Fonte de aleatoriedade dos baralhos. No modo com semente, cada mão recebe um gerador
+// L64X128MixRandom próprio derivado de (semente, número da mão): qualquer mão simulada pode ser
+// reproduzida a partir desses dois números, sem estado compartilhado entre threads. O modo
+// seguro usa um SecureRandom, para mesas reais, e não é reproduzível.
+// Configuração padrão pelas propriedades -Dpoker.seed=<n> ou -Dpoker.rng=secure
+public final class ShuffleRandom {
+    static final String ALGORITHM = "L64X128MixRandom";
+
+    private static final RandomGeneratorFactory<RandomGenerator> FACTORY = RandomGeneratorFactory.of(ALGORITHM);
+
+    // Base do processo, lida das propriedades uma vez; cada mesa nova recebe uma sequência derivada
+    private static final ShuffleRandom DEFAULT = fromSystemProperties();
+    private static final AtomicLong NEXT_TABLE = new AtomicLong();
+
+    private final long seed;
+    private final SecureRandom secureRandom;
+
+    private ShuffleRandom(long seed, SecureRandom secureRandom) {
+        this.seed = seed;
+        this.secureRandom = secureRandom;
+    }
+
+    public static ShuffleRandom seeded(long seed) {
+        return new ShuffleRandom(seed, null);
+    }
+
+    public static ShuffleRandom secure() {
+        return new ShuffleRandom(0L, new SecureRandom());
+    }
+
+    // Semente sorteada uma vez: as mãos seguem reproduzíveis por quem registrar getSeed()
+    public static ShuffleRandom randomSeed() {
+        return seeded(new SecureRandom().nextLong());
+    }
+
+    public static ShuffleRandom fromSystemProperties() {
+        if ("secure".equals(System.getProperty("poker.rng"))) {
+            return secure();
+        }
+        String seed = System.getProperty("poker.seed");
+        return seed != null ? seeded(Long.parseLong(seed)) : randomSeed();
+    }
+
+    // Sequência padrão para uma mesa nova: a n-ésima mesa criada no processo recebe a sequência n
+    public static ShuffleRandom forNewTable() {
+        return DEFAULT.derive(NEXT_TABLE.getAndIncrement());
+    }
+
+    // Sequência independente para uma mesa ou thread, derivada desta semente e do número da sequência
+    public ShuffleRandom derive(long stream) {
+        return secureRandom != null ? this : seeded(mix(seed ^ mix(stream + 0x632BE59BD9B4E019L)));
+    }
+
+    // Gerador da mão informada; no modo seguro é sempre o mesmo SecureRandom (thread-safe)
+    public RandomGenerator forHand(long handNumber) {
+        if (secureRandom != null) {
+            return secureRandom;
+        }
+        return FACTORY.create(mix(seed + handNumber * 0x9E3779B97F4A7C15L));
+    }
+
+    public boolean isSecure() {
+        return secureRandom != null;
+    }
+
+    public long getSeed() {
+        if (secureRandom != null) {
+            throw new IllegalStateException("O modo seguro não tem semente");
+        }
+        return seed;
+    }
+
+    // Finalizador do SplitMix64: espalha sementes próximas por todos os bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
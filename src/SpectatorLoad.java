@@ -0,0 +1,141 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Teste de vazão do TableFeed: uma mesa simulada jogando sem parar com centenas de observadores
+// no mesmo processo, parte deles lentos. Compara mãos/s com e sem observadores e falha (saída 1)
+// se algum observador recebeu snapshots fora de ordem, não alcançou o fim do fluxo ou, entre os
+// rápidos, recebeu bem menos entregas que os demais do mesmo tipo
+public class SpectatorLoad {
+    // Um observador rápido abaixo desta fração da mediana de entregas do seu tipo está sem vez
+    private static final double STARVED_FRACTION = 0.1;
+
+    // Observador que conta o que recebeu; os lentos gastam CPU a cada lote
+    private static final class CountingObserver implements TableFeed.Observer {
+        private final long workNanos;
+        private long lastSequence = -1;
+        private final AtomicLong outOfOrder;
+
+        CountingObserver(long workNanos, AtomicLong outOfOrder) {
+            this.workNanos = workNanos;
+            this.outOfOrder = outOfOrder;
+        }
+
+        @Override
+        public void onSnapshots(List<TableSnapshot> batch) {
+            for (TableSnapshot snapshot : batch) {
+                if (snapshot.getSequence() <= lastSequence) {
+                    outOfOrder.incrementAndGet();
+                }
+                lastSequence = snapshot.getSequence();
+            }
+            if (workNanos > 0) {
+                long until = System.nanoTime() + workNanos;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+
+    // Uso: java -cp bin SpectatorLoad [observadores] [mãos] [% lentos]
+    public static void main(String[] args) throws Exception {
+        int[] values = {500, 20_000, 10};
+        for (int i = 0; i < Math.min(args.length, values.length); i++) {
+            values[i] = Integer.parseInt(args[i]);
+        }
+        int subscribers = values[0];
+        int hands = values[1];
+        int slowPercent = values[2];
+        BatchSimulator simulator = new BatchSimulator(1, 6, 1_000_000, 42L);
+
+        // Referência sem observadores
+        HeadlessTable baseline = simulator.createTable(0);
+        baseline.setRebuy(true);
+        long start = System.nanoTime();
+        baseline.playHands(hands);
+        double baselineSeconds = (System.nanoTime() - start) / 1e9;
+
+        HeadlessTable table = simulator.createTable(0);
+        table.setRebuy(true);
+        TableFeed feed = new TableFeed(1024);
+        table.getGame().addListener(feed);
+
+        AtomicLong outOfOrder = new AtomicLong();
+        List<TableFeed.Subscription> subscriptions = new ArrayList<>();
+        boolean[] slowSubscriber = new boolean[subscribers];
+        for (int i = 0; i < subscribers; i++) {
+            boolean slow = i * 100 < subscribers * slowPercent;
+            slowSubscriber[i] = slow;
+            TableFeed.Backpressure backpressure = i % 2 == 0 ? TableFeed.Backpressure.DROP : TableFeed.Backpressure.COALESCE;
+            subscriptions.add(feed.subscribe(new CountingObserver(slow ? 200_000 : 0, outOfOrder), backpressure));
+        }
+
+        start = System.nanoTime();
+        table.playHands(hands);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long published = feed.getPublished();
+
+        // Dá tempo para os observadores alcançarem o fim do fluxo
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline && subscriptions.stream().anyMatch(s -> s.getLag() > 0)) {
+            Thread.sleep(10);
+        }
+        double drainSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] delivered = new long[2];
+        long[] dropped = new long[2];
+        long[] batches = new long[2];
+        long maxLag = 0;
+        for (TableFeed.Subscription subscription : subscriptions) {
+            int kind = subscription.getBackpressure().ordinal();
+            delivered[kind] += subscription.getDelivered();
+            dropped[kind] += subscription.getDropped();
+            batches[kind] += subscription.getBatches();
+            maxLag = Math.max(maxLag, subscription.getLag());
+        }
+
+        System.out.printf("Parâmetros: %d observadores, %d mãos, %d%% lentos%n", subscribers, hands, slowPercent);
+        System.out.printf("sem observadores: %.0f mãos/s%n", baseline.getHandsPlayed() / baselineSeconds);
+        System.out.printf("com observadores: %.0f mãos/s, %d snapshots publicados (%.0f/s)%n",
+                table.getHandsPlayed() / seconds, published, published / seconds);
+        System.out.printf("entrega concluída em %.2f s, atraso máximo restante %d%n", drainSeconds, maxLag);
+        for (TableFeed.Backpressure backpressure : TableFeed.Backpressure.values()) {
+            int kind = backpressure.ordinal();
+            System.out.printf("%-8s entregues %d, descartados %d, lote médio %.1f%n", backpressure,
+                    delivered[kind], dropped[kind], batches[kind] == 0 ? 0.0 : (double) delivered[kind] / batches[kind]);
+        }
+        System.out.printf("fora de ordem: %d%n", outOfOrder.get());
+
+        List<String> failures = new ArrayList<>();
+        if (outOfOrder.get() > 0) {
+            failures.add(outOfOrder.get() + " snapshots fora de ordem");
+        }
+        if (maxLag > 0) {
+            failures.add("observadores não alcançaram o fim do fluxo (atraso máximo " + maxLag + ")");
+        }
+        for (TableFeed.Backpressure backpressure : TableFeed.Backpressure.values()) {
+            List<Long> fast = new ArrayList<>();
+            for (int i = 0; i < subscribers; i++) {
+                if (!slowSubscriber[i] && subscriptions.get(i).getBackpressure() == backpressure) {
+                    fast.add(subscriptions.get(i).getDelivered());
+                }
+            }
+            if (fast.isEmpty()) {
+                continue;
+            }
+            fast.sort(null);
+            long median = fast.get(fast.size() / 2);
+            long starved = fast.stream().filter(d -> d == 0 || d < median * STARVED_FRACTION).count();
+            System.out.printf("%-8s rápidos: mínimo %d, mediana %d entregas%n", backpressure, fast.get(0), median);
+            if (starved > 0) {
+                failures.add(starved + " observadores " + backpressure + " sem vez");
+            }
+        }
+        if (!failures.isEmpty()) {
+            System.err.println("FALHA: " + String.join("; ", failures));
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+// Decide a ação de um jogador controlado pelo computador
+public interface Strategy {
+    Action decide(PokerGame game, Player player);
+}
@@ -0,0 +1,171 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Uma mesa como ator: os comandos entram numa fila própria e são processados por uma única
+// tarefa de cada vez no executor compartilhado, então o PokerGame nunca é acessado em paralelo
+public class TableActor {
+    // Máximo de comandos processados antes de devolver a thread ao executor
+    private static final int DRAIN_BATCH = 64;
+    // Snapshots guardados para os observadores da mesa
+    private static final int FEED_CAPACITY = 1024;
+
+    public enum CommandType {
+        DEAL, CHECK, CALL, BET, FOLD, STATE
+    }
+
+    private static final class Command {
+        final CommandType type;
+        final int amount;
+        final CompletableFuture<String> reply = new CompletableFuture<>();
+
+        Command(CommandType type, int amount) {
+            this.type = type;
+            this.amount = amount;
+        }
+    }
+
+    private final int id;
+    private final PokerGame game;
+    private final Executor executor;
+    private final TableFeed feed;
+    private final Queue<Command> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile long handsPlayed;
+
+    public TableActor(int id, int players, int initialChips, Executor executor) {
+        this(id, new PokerGame(seatNames(id, players), initialChips), executor);
+    }
+
+    // Mesa a partir de um jogo existente, por exemplo restaurado de um checkpoint
+    public TableActor(int id, PokerGame game, Executor executor) {
+        this.id = id;
+        this.game = game;
+        this.executor = executor;
+        this.feed = new TableFeed(FEED_CAPACITY); // Observadores fora do executor das mesas
+        game.addListener(feed);
+    }
+
+    private static List<String> seatNames(int id, int players) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            names.add("Mesa " + id + " Jogador " + (i + 1));
+        }
+        return names;
+    }
+
+    // Salva a mesa no armazenamento a cada fase e no intervalo informado; chamar antes do primeiro comando
+    void enableCheckpoints(CheckpointStore store, long intervalMillis) {
+        game.addListener(store.recorder(id, intervalMillis));
+    }
+
+    // Observadores (painéis, logs, espectadores remotos) recebem os snapshots da mesa sem nunca
+    // bloquear o processamento dos comandos
+    public TableFeed.Subscription watch(TableFeed.Observer observer, TableFeed.Backpressure backpressure) {
+        return feed.subscribe(observer, backpressure);
+    }
+
+    public TableFeed getFeed() {
+        return feed;
+    }
+
+    // Enfileira um comando; a resposta chega pelo future quando a mesa processá-lo
+    public CompletableFuture<String> send(CommandType type, int amount) {
+        Command command = new Command(type, amount);
+        mailbox.add(command);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+        return command.reply;
+    }
+
+    // A flag é liberada no finally: um Error num comando não deixa a mesa sem drain para sempre
+    private void drain() {
+        try {
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                Command command = mailbox.poll();
+                if (command == null) {
+                    break;
+                }
+                try {
+                    command.reply.complete(handle(command));
+                } catch (RuntimeException e) {
+                    command.reply.complete("ERR " + e.getMessage());
+                } catch (Error e) {
+                    // Quem espera a resposta não fica preso; o erro segue para o executor
+                    command.reply.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // Um comando pode ter chegado entre o último poll e a liberação da flag
+            if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    private String handle(Command command) {
+        boolean wasOver = game.isHandOver();
+        switch (command.type) {
+            case DEAL:
+                // Depois do fim de uma mão, o próximo DEAL começa outra
+                if (game.isHandOver()) {
+                    game.startNewHand();
+                }
+                game.dealNextCards();
+                break;
+            case CHECK:
+                requireHandInProgress();
+                game.check();
+                break;
+            case CALL:
+                requireHandInProgress();
+                game.call();
+                break;
+            case BET:
+                requireHandInProgress();
+                game.bet(command.amount);
+                break;
+            case FOLD:
+                requireHandInProgress();
+                game.fold();
+                break;
+            default:
+                break;
+        }
+        if (!wasOver && game.isHandOver()) {
+            handsPlayed = handsPlayed + 1; // Só a tarefa da mesa escreve este campo
+        }
+        return state();
+    }
+
+    private void requireHandInProgress() {
+        if (game.isHandOver()) {
+            throw new IllegalStateException("mão encerrada, envie DEAL");
+        }
+    }
+
+    // Resposta de protocolo: OK <mesa> <fase> <pote> <jogador da vez> [OVER <vencedor>]
+    private String state() {
+        StringBuilder sb = new StringBuilder("OK ").append(id).append(' ').append(game.getCurrentPhase())
+                .append(' ').append(game.getPot()).append(' ').append(game.getCurrentPlayerIndex());
+        if (game.isHandOver()) {
+            sb.append(" OVER ").append(game.getPlayers().indexOf(game.getWinner()));
+        }
+        return sb.toString();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getHandsPlayed() {
+        return handsPlayed;
+    }
+}
@@ -0,0 +1,248 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Publicação das mudanças de uma mesa para muitos observadores. A thread da mesa só grava um
+// snapshot num anel de tamanho fixo e avança a sequência: nunca espera por observador nenhum.
+// A entrega roda em lotes, com um cursor por assinatura; quem fica para trás perde os snapshots
+// sobrescritos no anel (DROP) ou recebe só o mais recente (COALESCE). Cada assinatura tem no
+// máximo uma entrega em andamento, que se reagenda sozinha enquanto estiver atrasada, então uma
+// assinatura atrasada não tira a vez das outras. Por mudança, a mesa faz trabalho constante, seja
+// qual for o número de observadores: publica a sequência e, se o feed não estiver armado, agenda
+// uma única varredura que acorda as assinaturas paradas e atrasadas. As entregas rodam num pool
+// próprio dos feeds, separado do executor das mesas, em ordem de chegada. Só entra nesse pool o observador que já mostrou ser
+// rápido: toda assinatura começa numa thread só dela (virtual a partir do Java 21) e passa para o
+// pool depois de FAST_BATCHES_TO_SHARE entregas seguidas abaixo de SLOW_CALLBACK_NANOS; uma
+// entrega lenta a devolve para a thread própria. Assim um observador que bloqueia desde o início
+// nunca ocupa os workers que atendem os outros
+public class TableFeed implements GameListener {
+    // Lote máximo entregue por chamada a um observador
+    static final int DEFAULT_BATCH = 64;
+    static final long SLOW_CALLBACK_NANOS = 1_000_000;
+    static final int FAST_BATCHES_TO_SHARE = 8;
+
+    private static final ForkJoinPool DELIVERY = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    private static final ExecutorService ISOLATED = TableServer.newConnectionExecutor();
+
+    public enum Backpressure {
+        DROP, COALESCE
+    }
+
+    // Recebe os snapshots de uma mesa, em ordem de sequência, na thread do executor
+    public interface Observer {
+        void onSnapshots(List<TableSnapshot> batch);
+    }
+
+    private final TableSnapshot[] ring;
+    private final int mask;
+    private final AtomicLong published = new AtomicLong(); // próxima sequência a publicar
+    private final Executor executor;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean armed = new AtomicBoolean(); // varredura agendada ou em andamento
+
+    // capacity: snapshots mantidos no anel (arredondado para potência de 2)
+    public TableFeed(int capacity) {
+        this(capacity, DELIVERY);
+    }
+
+    // Entregas no executor informado (observadores novos ou lentos continuam em threads próprias)
+    public TableFeed(int capacity, Executor executor) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new TableSnapshot[size];
+        this.mask = size - 1;
+        this.executor = executor;
+    }
+
+    public Subscription subscribe(Observer observer, Backpressure backpressure) {
+        return subscribe(observer, backpressure, DEFAULT_BATCH);
+    }
+
+    // O observador começa a partir do próximo snapshot publicado
+    public Subscription subscribe(Observer observer, Backpressure backpressure, int maxBatch) {
+        Subscription subscription = new Subscription(observer, backpressure, maxBatch, published.get());
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    @Override
+    public void onStateChanged(PokerGame game) {
+        onChanged(game, PokerGame.CHANGED_ALL);
+    }
+
+    // Chamado na thread da mesa: um snapshot, uma escrita no anel e no máximo um execute,
+    // independente do número de assinaturas
+    @Override
+    public void onChanged(PokerGame game, int changes) {
+        long sequence = published.get();
+        ring[(int) sequence & mask] = new TableSnapshot(sequence, changes, game);
+        published.set(sequence + 1);
+        arm();
+    }
+
+    // A leitura simples antes do CAS evita escrita compartilhada enquanto a varredura está armada
+    private void arm() {
+        if (!armed.get() && armed.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    // No executor de entrega: agenda as assinaturas atrasadas que não têm entrega em andamento
+    private void dispatch() {
+        long seen = published.get();
+        for (Subscription subscription : subscriptions) {
+            subscription.schedule();
+        }
+        armed.set(false);
+        // Publicado durante a varredura: a mesa viu o feed armado e não agendou outra
+        if (published.get() != seen) {
+            arm();
+        }
+    }
+
+    @Override
+    public void onWinner(Player winner) {
+    }
+
+    public long getPublished() {
+        return published.get();
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    public final class Subscription {
+        private final Observer observer;
+        private final Backpressure backpressure;
+        private final int maxBatch;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile boolean isolated = true; // entrega em thread própria até provar que é rápido
+        private int fastBatches; // entregas rápidas seguidas; só a tarefa de entrega escreve
+        private volatile long cursor; // próxima sequência a entregar; só a tarefa de entrega escreve
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+
+        private Subscription(Observer observer, Backpressure backpressure, int maxBatch, long start) {
+            this.observer = observer;
+            this.backpressure = backpressure;
+            this.maxBatch = maxBatch;
+            this.cursor = start;
+        }
+
+        // A leitura simples antes do CAS evita escrita compartilhada quando a entrega já está agendada
+        private void schedule() {
+            if (!closed && cursor < published.get() && !scheduled.get() && scheduled.compareAndSet(false, true)) {
+                (isolated ? ISOLATED : executor).execute(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            try {
+                if (!closed) {
+                    deliverBatch();
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // Pode ter chegado snapshot entre a leitura de published e a liberação da flag
+            if (!closed && cursor < published.get()) {
+                schedule();
+            }
+        }
+
+        private void deliverBatch() {
+            long end = published.get();
+            long next = cursor;
+            if (next >= end) {
+                return;
+            }
+            List<TableSnapshot> batch;
+            if (backpressure == Backpressure.COALESCE) {
+                // Só o estado mais recente interessa: os intermediários são descartados
+                TableSnapshot latest = ring[(int) (end - 1) & mask];
+                long sequence = Math.max(end - 1, latest.getSequence()); // pode já ser um mais novo
+                dropped.add(sequence - next);
+                batch = Collections.singletonList(latest);
+                next = sequence + 1;
+            } else {
+                // Sequências que o anel já sobrescreveu são perdidas
+                long oldest = Math.max(next, end - ring.length);
+                dropped.add(oldest - next);
+                next = oldest;
+                batch = new ArrayList<>((int) Math.min(maxBatch, end - next));
+                while (next < end && batch.size() < maxBatch) {
+                    TableSnapshot snapshot = ring[(int) next & mask];
+                    if (snapshot.getSequence() != next) {
+                        // Sobrescrito durante a leitura: a mesa deu a volta no anel
+                        long oldestNow = published.get() - ring.length + 1;
+                        dropped.add(oldestNow - next);
+                        next = oldestNow;
+                        continue;
+                    }
+                    batch.add(snapshot);
+                    next++;
+                }
+            }
+            cursor = next;
+            if (batch.isEmpty()) {
+                return;
+            }
+            delivered.add(batch.size());
+            batches.increment();
+            long start = System.nanoTime();
+            observer.onSnapshots(batch);
+            if (System.nanoTime() - start > SLOW_CALLBACK_NANOS) {
+                fastBatches = 0;
+                isolated = true;
+            } else if (isolated && ++fastBatches >= FAST_BATCHES_TO_SHARE) {
+                isolated = false;
+            }
+        }
+
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+
+        public Backpressure getBackpressure() {
+            return backpressure;
+        }
+
+        public long getDelivered() {
+            return delivered.sum();
+        }
+
+        // Snapshots que este observador não recebeu por estar atrasado
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        // Se o observador está sendo atendido numa thread própria (novo ou lento)
+        public boolean isIsolated() {
+            return isolated;
+        }
+
+        public long getBatches() {
+            return batches.sum();
+        }
+
+        // Quantos snapshots publicados ainda não foram entregues
+        public long getLag() {
+            return Math.max(0, published.get() - cursor);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Mantém as mesas ativas; cada mesa é um TableActor, sem nenhum lock global
+public class TableManager {
+    // Intervalo entre checkpoints de uma mesa dentro da mesma fase
+    static final long CHECKPOINT_INTERVAL_MILLIS = 1000;
+
+    private final ConcurrentMap<Integer, TableActor> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final Executor executor;
+    private volatile CheckpointStore checkpoints;
+
+    public TableManager() {
+        // Modo assíncrono (FIFO) combina melhor com tarefas de atores que nunca fazem join
+        this(new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true));
+    }
+
+    public TableManager(Executor executor) {
+        this.executor = executor;
+    }
+
+    public TableActor openTable(int players, int initialChips) {
+        int id = nextId.getAndIncrement();
+        TableActor table = new TableActor(id, players, initialChips, executor);
+        register(table);
+        return table;
+    }
+
+    private void register(TableActor table) {
+        CheckpointStore store = checkpoints;
+        if (store != null) {
+            table.enableCheckpoints(store, CHECKPOINT_INTERVAL_MILLIS);
+        }
+        tables.put(table.getId(), table);
+    }
+
+    public void closeTable(int id) {
+        tables.remove(id);
+        CheckpointStore store = checkpoints;
+        if (store != null) {
+            store.delete(id);
+        }
+    }
+
+    // Mesas abertas depois desta chamada passam a salvar checkpoints no armazenamento informado
+    public void setCheckpointStore(CheckpointStore store) {
+        this.checkpoints = store;
+    }
+
+    // Reabre as mesas salvas no armazenamento (lidas em paralelo no pool) e passa a salvar as novas
+    // nele; os ids novos continuam depois do maior id restaurado. Retorna quantas mesas voltaram
+    public int restoreTables(CheckpointStore store, ForkJoinPool pool) throws IOException {
+        setCheckpointStore(store);
+        Map<Integer, PokerGame> restored = store.restoreAll(pool);
+        for (Map.Entry<Integer, PokerGame> entry : restored.entrySet()) {
+            register(new TableActor(entry.getKey(), entry.getValue(), executor));
+            nextId.accumulateAndGet(entry.getKey() + 1, Math::max);
+        }
+        return restored.size();
+    }
+
+    public CompletableFuture<String> send(int tableId, TableActor.CommandType type, int amount) {
+        TableActor table = tables.get(tableId);
+        if (table == null) {
+            return CompletableFuture.completedFuture("ERR mesa inexistente: " + tableId);
+        }
+        return table.send(type, amount);
+    }
+
+    public Collection<TableActor> getTables() {
+        return tables.values();
+    }
+
+    public long getHandsPlayed() {
+        long total = 0;
+        for (TableActor table : tables.values()) {
+            total += table.getHandsPlayed();
+        }
+        return total;
+    }
+}
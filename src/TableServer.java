@@ -0,0 +1,135 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Servidor local com protocolo de texto, uma linha por comando:
+//   OPEN <jogadores> <fichas>   -> OK <mesa>
+//   DEAL|CHECK|CALL|FOLD|STATE <mesa> -> OK <mesa> <fase> <pote> <jogador da vez> [OVER <vencedor>]
+//   BET <mesa> <valor>   (fichas colocadas nesta ação; jogada inválida -> ERR <motivo>)
+//   QUIT
+// Cada conexão roda na sua própria thread virtual quando a JVM oferece (Java 21+)
+public class TableServer implements AutoCloseable {
+    private final TableManager manager;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = newConnectionExecutor();
+
+    public TableServer(TableManager manager, int port) throws IOException {
+        this.manager = manager;
+        this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    // Aceita conexões até o servidor ser fechado
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            socket.setTcpNoDelay(true);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.equals("QUIT")) {
+                    break;
+                }
+                out.println(execute(line));
+            }
+        } catch (IOException e) {
+            // Conexão encerrada pelo cliente
+        }
+    }
+
+    // Interpreta e executa um comando; bloquear aqui só ocupa a thread desta conexão. Linha mal
+    // formada responde "comando inválido"; jogada ou mesa recusada responde com o motivo
+    String execute(String line) {
+        String[] parts = line.trim().split(" ");
+        TableActor.CommandType type = null; // null: OPEN
+        int first;
+        int second = 0;
+        try {
+            if (parts[0].equals("OPEN")) {
+                first = Integer.parseInt(parts[1]);
+                second = Integer.parseInt(parts[2]);
+            } else {
+                type = TableActor.CommandType.valueOf(parts[0]);
+                first = Integer.parseInt(parts[1]);
+                if (type == TableActor.CommandType.BET) {
+                    second = Integer.parseInt(parts[2]);
+                }
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            // NumberFormatException e constante de enum inexistente também caem aqui
+            return "ERR comando inválido: " + line;
+        }
+        try {
+            if (type == null) {
+                return "OK " + manager.openTable(first, second).getId();
+            }
+            return manager.send(first, type, second).join();
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    // Threads virtuais não existem antes do Java 21; nesse caso usa um pool que cresce sob demanda
+    static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // Uso: java -cp bin TableServer [porta] [pasta de checkpoints]
+    // Com a pasta, as mesas salvas são reabertas na partida e as mesas abertas passam a ser salvas
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        TableManager manager = new TableManager();
+        if (args.length > 1) {
+            CheckpointStore store = new CheckpointStore(Paths.get(args[1]));
+            long start = System.nanoTime();
+            int restored = manager.restoreTables(store, ForkJoinPool.commonPool());
+            System.out.printf("%d mesas restauradas em %.1f ms%n", restored, (System.nanoTime() - start) / 1e6);
+        }
+        TableServer server = new TableServer(manager, port);
+        Metrics.registerMBean();
+        Metrics.startPeriodicDump(30, TimeUnit.SECONDS, System.out);
+        System.out.println("Servidor de mesas ouvindo em 127.0.0.1:" + server.getPort());
+        server.serve();
+    }
+}
@@ -0,0 +1,90 @@
+// Estado público de uma mesa num instante, imutável: é o que os observadores de TableFeed recebem.
+// Cada snapshot é completo, então um observador atrasado pode pular direto para o mais recente
+public final class TableSnapshot {
+    private final long sequence;
+    private final long handNumber;
+    private final int changes;
+    private final int phase;
+    private final int pot;
+    private final int currentPlayer;
+    private final int dealer;
+    private final long board;
+    private final long foldedSeats;
+    private final int[] chips;
+    private final int winnerSeat;
+
+    TableSnapshot(long sequence, int changes, PokerGame game) {
+        this.sequence = sequence;
+        this.handNumber = game.getHandNumber();
+        this.changes = changes;
+        this.phase = game.getCurrentPhase();
+        this.pot = game.getPot();
+        this.currentPlayer = game.getCurrentPlayerIndex();
+        this.dealer = game.getDealerIndex();
+        this.board = Card.toMask(game.getCommunityCards());
+        int seats = game.getPlayers().size();
+        this.chips = new int[seats];
+        long folded = 0;
+        for (int s = 0; s < seats; s++) {
+            Player player = game.getPlayers().get(s);
+            chips[s] = player.getChips();
+            if (player.hasFolded()) {
+                folded |= 1L << s;
+            }
+        }
+        this.foldedSeats = folded;
+        this.winnerSeat = game.isHandOver() && game.getWinner() != null ? game.getPlayers().indexOf(game.getWinner()) : -1;
+    }
+
+    // Posição no fluxo da mesa: 0, 1, 2... sem lacunas do lado de quem publica
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getHandNumber() {
+        return handNumber;
+    }
+
+    // Flags PokerGame.CHANGED_* da mudança que gerou este snapshot
+    public int getChanges() {
+        return changes;
+    }
+
+    public int getPhase() {
+        return phase;
+    }
+
+    public int getPot() {
+        return pot;
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public int getDealer() {
+        return dealer;
+    }
+
+    // Cartas comunitárias como máscara (Card.mask)
+    public long getBoard() {
+        return board;
+    }
+
+    public boolean hasFolded(int seat) {
+        return (foldedSeats & (1L << seat)) != 0;
+    }
+
+    public int getChips(int seat) {
+        return chips[seat];
+    }
+
+    public int getSeatCount() {
+        return chips.length;
+    }
+
+    // Assento de quem levou mais fichas na mão encerrada, -1 com a mão em andamento
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+}
@@ -0,0 +1,265 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Torneio multimesa sem interface: a cada rodada todas as mesas jogam uma mão em paralelo no pool;
+// entre rodadas os eliminados recebem a colocação, o nível de blinds avança, mesas são
+// desfeitas quando os jogadores cabem em menos mesas e jogadores são movidos para equilibrar
+public class Tournament {
+    // Parte dos inscritos que recebe prêmio
+    static final double PAID_FRACTION = 0.15;
+
+    private final int entrants;
+    private final int seatsPerTable;
+    private final int startingStack;
+    private final BlindSchedule schedule;
+    private final ExecutorService pool;
+    private final long seed;
+
+    private Player[] players;
+    private Strategy[] strategies;
+    private List<List<Integer>> tables;   // ids dos inscritos sentados em cada mesa, na ordem dos assentos
+    private List<HeadlessTable> games;
+    private int[] places;                 // colocação final de cada inscrito (1 = campeão)
+    private int remaining;
+    private long rounds;
+    private long handsPlayed;
+    private int[] finalTable;             // inscritos na mesa final, quando ela se formou
+    private int[] finalTableStacks;
+
+    public Tournament(int entrants, int seatsPerTable, int startingStack, BlindSchedule schedule,
+            ExecutorService pool, long seed) {
+        if (entrants < 2 || seatsPerTable < 2) {
+            throw new IllegalArgumentException("O torneio precisa de pelo menos 2 inscritos e 2 assentos por mesa");
+        }
+        this.entrants = entrants;
+        this.seatsPerTable = seatsPerTable;
+        this.startingStack = startingStack;
+        this.schedule = schedule;
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    // Joga o torneio até sobrar um jogador e retorna a colocação de cada inscrito
+    public int[] run() throws Exception {
+        seatEntrants();
+        while (remaining > 1) {
+            int level = schedule.levelFor(rounds);
+            playRound(level);
+            eliminateBusted();
+            rebalance();
+            rounds++;
+        }
+        for (int id = 0; id < entrants; id++) {
+            if (places[id] == 0) {
+                places[id] = 1;
+            }
+        }
+        return places;
+    }
+
+    // Sorteio dos lugares: inscritos embaralhados e distribuídos um a um pelas mesas
+    private void seatEntrants() {
+        players = new Player[entrants];
+        strategies = new Strategy[entrants];
+        places = new int[entrants];
+        remaining = entrants;
+        int[] order = new int[entrants];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int id = 0; id < entrants; id++) {
+            players[id] = new Player("Jogador " + (id + 1), startingStack);
+            strategies[id] = new RandomStrategy(random.nextLong());
+            order[id] = id;
+        }
+        for (int i = entrants - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        int tableCount = (entrants + seatsPerTable - 1) / seatsPerTable;
+        tables = new ArrayList<>();
+        games = new ArrayList<>();
+        for (int t = 0; t < tableCount; t++) {
+            tables.add(new ArrayList<>());
+        }
+        for (int i = 0; i < entrants; i++) {
+            tables.get(i % tableCount).add(order[i]);
+        }
+        ShuffleRandom shuffleRandom = ShuffleRandom.seeded(seed);
+        for (int t = 0; t < tableCount; t++) {
+            PokerGame game = PokerGame.seated(playersAt(tables.get(t)));
+            game.setShuffleRandom(shuffleRandom.derive(t));
+            games.add(new HeadlessTable(game, strategiesAt(tables.get(t))));
+        }
+    }
+
+    private void playRound(int level) throws Exception {
+        List<Callable<Long>> hands = new ArrayList<>(games.size());
+        for (HeadlessTable table : games) {
+            if (table.getGame().getPlayers().size() < 2) {
+                continue; // Sozinho na mesa até o próximo balanceamento
+            }
+            table.getGame().setBlinds(schedule.getSmallBlind(level), schedule.getBigBlind(level), schedule.getAnte(level));
+            hands.add(() -> {
+                table.playHand();
+                return 1L;
+            });
+        }
+        for (Future<Long> hand : pool.invokeAll(hands)) {
+            handsPlayed += hand.get();
+        }
+    }
+
+    // Eliminados na mesma rodada: quem começou a mão com menos fichas fica com a pior colocação.
+    // Quem foi eliminado colocou tudo no pote, então as fichas iniciais são a contribuição na mão
+    private void eliminateBusted() {
+        List<int[]> busted = new ArrayList<>(); // {id, fichas no início da mão}
+        for (int t = 0; t < tables.size(); t++) {
+            List<Integer> seats = tables.get(t);
+            PokerGame game = games.get(t).getGame();
+            for (int s = seats.size() - 1; s >= 0; s--) {
+                int id = seats.get(s);
+                if (players[id].getChips() == 0) {
+                    busted.add(new int[] {id, game.getContribution(s)});
+                    seats.remove(s);
+                }
+            }
+        }
+        busted.sort(Comparator.<int[]>comparingInt(entry -> entry[1]).thenComparingInt(entry -> -entry[0]));
+        for (int[] entry : busted) {
+            places[entry[0]] = remaining--;
+        }
+    }
+
+    // Desfaz as mesas que sobram e move jogadores da maior para a menor até a diferença ser no máximo 1
+    private void rebalance() {
+        boolean[] changed = new boolean[tables.size()];
+        int needed = Math.max(1, (remaining + seatsPerTable - 1) / seatsPerTable);
+        while (tables.size() > needed) {
+            int smallest = smallestTable();
+            List<Integer> broken = tables.remove(smallest);
+            games.remove(smallest);
+            changed = removeIndex(changed, smallest);
+            for (int id : broken) {
+                int target = smallestTable();
+                tables.get(target).add(id);
+                changed[target] = true;
+            }
+        }
+        while (true) {
+            int smallest = smallestTable();
+            int largest = largestTable();
+            if (tables.get(largest).size() - tables.get(smallest).size() <= 1) {
+                break;
+            }
+            // Sai quem seria o próximo big blind da mesa maior
+            List<Integer> from = tables.get(largest);
+            int seat = (games.get(largest).getGame().getDealerIndex() + 3) % from.size();
+            tables.get(smallest).add(from.remove(seat));
+            changed[largest] = true;
+            changed[smallest] = true;
+        }
+        for (int t = 0; t < tables.size(); t++) {
+            List<Integer> seats = tables.get(t);
+            PokerGame game = games.get(t).getGame();
+            if (changed[t] || seats.size() != game.getPlayers().size()) {
+                game.seatPlayers(playersAt(seats));
+                games.set(t, new HeadlessTable(game, strategiesAt(seats)));
+            }
+        }
+        if (finalTable == null && tables.size() == 1) {
+            List<Integer> seats = tables.get(0);
+            finalTable = new int[seats.size()];
+            finalTableStacks = new int[seats.size()];
+            for (int i = 0; i < seats.size(); i++) {
+                finalTable[i] = seats.get(i);
+                finalTableStacks[i] = players[seats.get(i)].getChips();
+            }
+        }
+    }
+
+    private int smallestTable() {
+        int best = 0;
+        for (int t = 1; t < tables.size(); t++) {
+            if (tables.get(t).size() < tables.get(best).size()) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    private int largestTable() {
+        int best = 0;
+        for (int t = 1; t < tables.size(); t++) {
+            if (tables.get(t).size() > tables.get(best).size()) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    private static boolean[] removeIndex(boolean[] values, int index) {
+        boolean[] result = Arrays.copyOf(values, values.length - 1);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    private List<Player> playersAt(List<Integer> seats) {
+        List<Player> seated = new ArrayList<>(seats.size());
+        for (int id : seats) {
+            seated.add(players[id]);
+        }
+        return seated;
+    }
+
+    private List<Strategy> strategiesAt(List<Integer> seats) {
+        List<Strategy> seated = new ArrayList<>(seats.size());
+        for (int id : seats) {
+            seated.add(strategies[id]);
+        }
+        return seated;
+    }
+
+    // Prêmios por colocação: os primeiros 15% são pagos, com prêmio proporcional a 1 / colocação
+    static double[] prizeStructure(int entrants, double prizePool) {
+        int paid = Math.max(1, (int) Math.round(entrants * PAID_FRACTION));
+        double[] prizes = new double[paid];
+        double total = 0;
+        for (int place = 1; place <= paid; place++) {
+            prizes[place - 1] = 1.0 / place;
+            total += prizes[place - 1];
+        }
+        for (int i = 0; i < paid; i++) {
+            prizes[i] = prizes[i] / total * prizePool;
+        }
+        return prizes;
+    }
+
+    // Rodadas do relógio do torneio (uma mão em cada mesa ativa)
+    public long getRounds() {
+        return rounds;
+    }
+
+    public long getHandsPlayed() {
+        return handsPlayed;
+    }
+
+    public int getEntrants() {
+        return entrants;
+    }
+
+    // Inscritos da mesa final e seus stacks quando ela se formou; null antes disso
+    public int[] getFinalTable() {
+        return finalTable;
+    }
+
+    public int[] getFinalTableStacks() {
+        return finalTableStacks;
+    }
+}
@@ -0,0 +1,61 @@
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Roda vários torneios sem interface e mede a estrutura de prêmios contra o ICM: na formação da
+// mesa final, o valor ICM de cada finalista é comparado com o prêmio que ele realmente recebeu
+public class TournamentSimulator {
+    // Uso: java -cp bin TournamentSimulator [inscritos] [torneios] [assentos por mesa] [stack inicial] [mãos por nível]
+    public static void main(String[] args) throws Exception {
+        int[] values = {10_000, 3, 9, 10_000, 10};
+        for (int i = 0; i < Math.min(args.length, values.length); i++) {
+            values[i] = Integer.parseInt(args[i]);
+        }
+        int entrants = values[0];
+        int runs = values[1];
+        double prizePool = entrants * 100.0; // inscrição de 100
+        double[] prizes = Tournament.prizeStructure(entrants, prizePool);
+        BlindSchedule schedule = BlindSchedule.standard(values[3], values[4]);
+
+        System.out.printf("Parâmetros: %s%n", Arrays.toString(values));
+        System.out.printf("Premiados: %d; 1º %.0f, 2º %.0f, 3º %.0f, último pago %.0f%n", prizes.length,
+                prizes[0], prizes.length > 1 ? prizes[1] : 0, prizes.length > 2 ? prizes[2] : 0, prizes[prizes.length - 1]);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        double totalSeconds = 0;
+        double totalError = 0;
+        double totalFinalPrizes = 0;
+        try {
+            for (int run = 0; run < runs; run++) {
+                Tournament tournament = new Tournament(entrants, values[2], values[3], schedule, pool, 42L + run);
+                long start = System.nanoTime();
+                int[] places = tournament.run();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                totalSeconds += seconds;
+
+                // ICM na formação da mesa final contra o prêmio realizado
+                int[] finalists = tournament.getFinalTable();
+                double[] tablePrizes = Arrays.copyOf(prizes, Math.min(prizes.length, finalists.length));
+                double[] icm = Icm.equities(tournament.getFinalTableStacks(), tablePrizes);
+                double error = 0;
+                double finalPrizes = 0;
+                for (int i = 0; i < finalists.length; i++) {
+                    int place = places[finalists[i]];
+                    double realized = place <= tablePrizes.length ? tablePrizes[place - 1] : 0;
+                    error += Math.abs(icm[i] - realized);
+                    finalPrizes += realized;
+                }
+                totalError += error;
+                totalFinalPrizes += finalPrizes;
+                System.out.printf("torneio %d: %.2f s, %d rodadas, %d mãos (%.0f mãos/s), mesa final com %d, "
+                        + "erro ICM %.1f%% dos prêmios da mesa%n", run + 1, seconds, tournament.getRounds(),
+                        tournament.getHandsPlayed(), tournament.getHandsPlayed() / seconds, finalists.length,
+                        error / finalPrizes * 100);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("média: %.2f s por torneio, erro ICM médio %.1f%% dos prêmios da mesa final%n",
+                totalSeconds / runs, totalError / totalFinalPrizes * 100);
+    }
+}